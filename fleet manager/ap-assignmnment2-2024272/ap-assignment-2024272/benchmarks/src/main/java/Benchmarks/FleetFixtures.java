@@ -0,0 +1,49 @@
+package Benchmarks;
+import Events.FleetEvents;
+import Events.NoOpEventSink;
+import Exceptions.FileOperationException;
+import Exceptions.InvalidOperationException;
+import Fleet.FleetManager;
+import Interfaces.FuelConsumable;
+import Vehicles.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+// Deterministic fleets shared by the benchmarks: an even mix of the five vehicle types over a fixed model pool.
+public class FleetFixtures {
+    public static final int MODEL_COUNT = 50;
+    public static final double FULL_TANK = 1.0e9;
+    public static void silenceEvents() {
+        FleetEvents.setSink(NoOpEventSink.INSTANCE);
+    }
+    public static String idOf(int i) {
+        return "V" + i;
+    }
+    public static Vehicle newVehicle(int i) throws InvalidOperationException {
+        String id = idOf(i);
+        String model = "Model-" + (i % MODEL_COUNT);
+        double speed = 60 + (i * 37 % 140);
+        switch (i % 5) {
+            case 0: return new Car(id, model, speed, 4);
+            case 1: return new Truck(id, model, speed, 6);
+            case 2: return new Bus(id, model, speed, 6);
+            case 3: return new Airplane(id, model, speed * 5, 12000);
+            default: return new CargoShip(id, model, speed / 4, i % 10 == 4);
+        }
+    }
+    public static FleetManager populate(FleetManager manager, int size) throws InvalidOperationException {
+        for (int i = 0; i < size; i++) {
+            Vehicle v = newVehicle(i);
+            if (v instanceof FuelConsumable) ((FuelConsumable) v).setFuelLevel(FULL_TANK);
+            manager.addVehicle(v);
+        }
+        return manager;
+    }
+    // Writes a fleet of the given size with the application's own CSV writer.
+    public static File writeCsv(int size) throws IOException, InvalidOperationException, FileOperationException {
+        File file = Files.createTempFile("fleet-bench-" + size + "-", ".csv").toFile();
+        file.deleteOnExit();
+        populate(new FleetManager(), size).saveToFile(file.getPath());
+        return file;
+    }
+}
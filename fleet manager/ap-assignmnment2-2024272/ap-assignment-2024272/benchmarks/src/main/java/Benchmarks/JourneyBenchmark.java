@@ -0,0 +1,40 @@
+package Benchmarks;
+import Fleet.FleetManager;
+import Fleet.JourneyReport;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JourneyBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int size;
+    private FleetManager manager;
+    private ExecutorService executor;
+    private int parallelism;
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        FleetFixtures.silenceEvents();
+        manager = FleetFixtures.populate(new FleetManager(), size);
+        parallelism = Runtime.getRuntime().availableProcessors();
+        executor = Executors.newFixedThreadPool(parallelism);
+    }
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+    @Benchmark
+    public int startAllJourneys() {
+        manager.startAllJourneys(1.0);
+        return manager.size();
+    }
+    @Benchmark
+    public JourneyReport startAllJourneysParallel() throws InterruptedException {
+        return manager.startAllJourneys(1.0, executor, parallelism);
+    }
+}
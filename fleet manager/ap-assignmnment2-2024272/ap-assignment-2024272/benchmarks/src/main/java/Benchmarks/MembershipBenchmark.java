@@ -0,0 +1,48 @@
+package Benchmarks;
+import Fleet.FleetManager;
+import Vehicles.Vehicle;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MembershipBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int size;
+    private FleetManager manager;
+    private Vehicle spare;
+    private Vehicle middle;
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        FleetFixtures.silenceEvents();
+        manager = FleetFixtures.populate(new FleetManager(), size);
+        spare = FleetFixtures.newVehicle(size);
+        middle = manager.getById(FleetFixtures.idOf(size / 2));
+    }
+    // Builds a whole fleet of the given size through addVehicle; one operation is one complete fleet.
+    @Benchmark
+    public FleetManager fillFleet() throws Exception {
+        FleetManager fresh = new FleetManager();
+        for (int i = 0; i < size; i++) {
+            fresh.addVehicle(FleetFixtures.newVehicle(i));
+        }
+        return fresh;
+    }
+    // Marginal cost of one addVehicle against a fleet that already holds size vehicles.
+    @Benchmark
+    public int addVehicle() throws Exception {
+        manager.addVehicle(spare);
+        manager.removeVehicle(spare.getId());
+        return manager.size();
+    }
+    // Removes a vehicle from the middle of the fleet, then puts it back so the fleet size stays fixed.
+    @Benchmark
+    public int removeVehicle() throws Exception {
+        manager.removeVehicle(middle.getId());
+        manager.addVehicle(middle);
+        return manager.size();
+    }
+}
@@ -0,0 +1,53 @@
+package Benchmarks;
+import Fleet.FleetManager;
+import java.io.File;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PersistenceBenchmark {
+    @Param({"1000", "100000"})
+    public int size;
+    private File csv;
+    private File target;
+    private FleetManager loaded;
+    private FleetManager saved;
+    private PrintStream console;
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        FleetFixtures.silenceEvents();
+        csv = FleetFixtures.writeCsv(size);
+        target = File.createTempFile("fleet-bench-save-", ".csv");
+        target.deleteOnExit();
+        loaded = new FleetManager();
+        saved = FleetFixtures.populate(new FleetManager(), size);
+        // loadFromFile prints a summary line per call; keep it out of the measurement.
+        console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(console);
+    }
+    @Benchmark
+    public int loadFromFile() throws Exception {
+        loaded.loadFromFile(csv.getPath());
+        return loaded.size();
+    }
+    @Benchmark
+    public int loadFromFileParallel() throws Exception {
+        loaded.loadFromFileParallel(csv.getPath());
+        return loaded.size();
+    }
+    @Benchmark
+    public long saveToFile() throws Exception {
+        saved.saveToFile(target.getPath());
+        return target.length();
+    }
+}
@@ -0,0 +1,47 @@
+package Benchmarks;
+import Fleet.FleetManager;
+import Vehicles.Truck;
+import Vehicles.Vehicle;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class QueryBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int size;
+    private FleetManager manager;
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        FleetFixtures.silenceEvents();
+        manager = FleetFixtures.populate(new FleetManager(), size);
+    }
+    @Benchmark
+    public String generateReport() {
+        return manager.generateReport();
+    }
+    @Benchmark
+    public List<Vehicle> searchByType() {
+        return manager.searchByType(Truck.class);
+    }
+    // Each sort re-orders the fleet in place, so these measure re-sorting an already populated fleet.
+    @Benchmark
+    public List<Vehicle> sortFleetByEfficiency() {
+        manager.sortFleetByEfficiency();
+        return manager.getFleet();
+    }
+    @Benchmark
+    public List<Vehicle> sortFleetBySpeed() {
+        manager.sortFleetBySpeed();
+        return manager.getFleet();
+    }
+    @Benchmark
+    public List<Vehicle> sortFleetByModel() {
+        manager.sortFleetByModel();
+        return manager.getFleet();
+    }
+}
@@ -0,0 +1,30 @@
+package Benchmarks;
+import Fleet.FleetManager;
+import Simulation.FleetSimulator;
+import Simulation.SimulationConfig;
+import Simulation.SimulationReport;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+// One simulated week per invocation; divide by SimulationReport.getEvents() for the per-event cost.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SimulationBenchmark {
+    @Param({"1000", "10000"})
+    public int size;
+    private FleetSimulator simulator;
+    private long seed;
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        FleetFixtures.silenceEvents();
+        FleetManager manager = FleetFixtures.populate(new FleetManager(), size);
+        simulator = new FleetSimulator(manager, new SimulationConfig().withHorizonHours(24 * 7));
+    }
+    @Benchmark
+    public SimulationReport simulateWeek() {
+        return simulator.run(seed++);
+    }
+}
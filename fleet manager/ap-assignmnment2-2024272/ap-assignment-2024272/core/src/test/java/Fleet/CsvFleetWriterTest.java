@@ -0,0 +1,79 @@
+package Fleet;
+import Vehicles.*;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+class CsvFleetWriterTest extends QuietFleetTest {
+    @TempDir
+    Path dir;
+    // The String.format based writer the cached one replaced, kept as the reference for its output.
+    private static String formatted(FleetManager manager) {
+        StringWriter out = new StringWriter();
+        PrintWriter pw = new PrintWriter(out);
+        pw.println("type,id,model,maxSpeed,efficiency,fuelLevel,currentPassengers,maintenanceNeeded,currentMileage");
+        for (Vehicle v : manager.getFleet()) {
+            String model = "\"" + (v.getModel() == null ? "" : v.getModel()).replace("\"", "\"\"") + "\"";
+            String base = String.format("%s,%s,%s,%.2f,%.4f",
+                    v.getClass().getSimpleName(), v.getId(), model, v.getMaxSpeed(), v.calculateFuelEfficiency());
+            if (v instanceof Car) {
+                Car car = (Car) v;
+                pw.printf("%s,%.4f,%d,%b,%.4f%n", base, car.getFuelLevel(), car.getCurrentPassengers(),
+                        car.needsMaintenance(), car.getCurrentMileage());
+            } else {
+                pw.printf("%s,,,,%.4f%n", base, v.getCurrentMileage());
+            }
+        }
+        pw.flush();
+        return out.toString();
+    }
+    private static FleetManager fleet() throws Exception {
+        FleetManager manager = new FleetManager();
+        Random random = new Random(42);
+        // Values that sit on a rounding boundary, or that plain double formatting gets wrong.
+        double[] awkward = {0.125, 1.005, 2.675, 0.00005, 0.00015, 1.23445, 99999.99995, 0.0, -0.0, 1e9,
+                123456789.12345, Double.NaN, 7.00005, 12.34565};
+        for (int i = 0; i < 5000; i++) {
+            String model = i % 3 == 0 ? "Mo\"del" + i : (i % 5 == 0 ? null : "Ünï😀" + (i % 9));
+            Car car = new Car("C" + i, model, (i % 4 == 0 ? random.nextDouble() * 300 : 0) + Math.abs(awkward[i % awkward.length]), 4);
+            car.setFuelLevel(i % 7 == 0 ? awkward[(i / 7) % awkward.length] : random.nextDouble() * Math.pow(10, random.nextInt(10)));
+            car.setCurrentMileage(i % 13 == 0 ? Math.round(random.nextDouble() * 1e6) / 1e4 + 0.00005 : random.nextDouble() * 20000);
+            if (i % 17 == 0) car.setMaintenanceScheduled(true);
+            manager.addVehicle(car);
+            if (i % 10 == 0) {
+                Truck truck = new Truck("T" + i, "TM", random.nextDouble() * 200, 6);
+                truck.setCurrentMileage(random.nextDouble() * 5e4);
+                manager.addVehicle(truck);
+            }
+        }
+        return manager;
+    }
+    private String saved(FleetManager manager) throws Exception {
+        Path file = dir.resolve("fleet.csv");
+        manager.saveToFile(file.toString());
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+    @Test
+    void matchesFormattedOutput() throws Exception {
+        FleetManager manager = fleet();
+        assertEquals(formatted(manager), saved(manager));
+    }
+    @Test
+    void cachedRowsFollowChanges() throws Exception {
+        FleetManager manager = fleet();
+        saved(manager);
+        ((Car) manager.getById("C5")).setFuelLevel(3.3);
+        manager.getById("T10").setCurrentMileage(1.00005);
+        manager.removeVehicle("C7");
+        assertEquals(formatted(manager), saved(manager));
+        manager.setMaintenanceThreshold(Car.class, 500);
+        assertEquals(formatted(manager), saved(manager));
+        manager.resetMaintenanceThreshold(Car.class);
+        assertEquals(formatted(manager), saved(manager));
+    }
+}
@@ -0,0 +1,85 @@
+package Fleet;
+import Vehicles.Car;
+import Vehicles.Truck;
+import Vehicles.Vehicle;
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+class FleetJournalTest extends QuietFleetTest {
+    @TempDir
+    Path dir;
+    // Checkpoints the sample fleet, then journals a run of changes ending with C1's fuel set to 12.
+    private FleetManager journaled(File snapshot, File log) throws Exception {
+        FleetManager manager = new FleetManager();
+        for (Vehicle v : TestFleets.sample()) manager.addVehicle(v);
+        manager.enableJournal(snapshot.getPath(), log.getPath());
+        manager.getById("T1").setCurrentMileage(5000);
+        ((Truck) manager.getById("T1")).unloadCargo(500);
+        ((Car) manager.getById("C1")).setLastServiceMileage(12000);
+        manager.removeVehicle("B1");
+        manager.addVehicle(new Car("C2", "Golf", 190, 4));
+        ((Car) manager.getById("C1")).setFuelLevel(12);
+        manager.closeJournal();
+        return manager;
+    }
+    @Test
+    void recoveryReplaysEveryChange() throws Exception {
+        File snapshot = dir.resolve("fleet.snap").toFile();
+        File log = dir.resolve("fleet.log").toFile();
+        FleetManager manager = journaled(snapshot, log);
+        List<Vehicle> recovered = FleetJournal.recover(snapshot, log);
+        assertEquals(TestFleets.states(manager.getFleet()), TestFleets.states(recovered));
+    }
+    @Test
+    void enableJournalRestoresTheFleet() throws Exception {
+        File snapshot = dir.resolve("fleet.snap").toFile();
+        File log = dir.resolve("fleet.log").toFile();
+        FleetManager manager = journaled(snapshot, log);
+        FleetManager reopened = new FleetManager();
+        reopened.enableJournal(snapshot.getPath(), log.getPath());
+        reopened.closeJournal();
+        assertEquals(TestFleets.states(manager.getFleet()), TestFleets.states(reopened.getFleet()));
+    }
+    @Test
+    void recordWithBadChecksumEndsReplay() throws Exception {
+        File snapshot = dir.resolve("fleet.snap").toFile();
+        File log = dir.resolve("fleet.log").toFile();
+        journaled(snapshot, log);
+        try (RandomAccessFile raf = new RandomAccessFile(log, "rw")) {
+            raf.seek(raf.length() - 1);
+            int last = raf.read();
+            raf.seek(raf.length() - 1);
+            raf.write(last ^ 0xFF);
+        }
+        assertRecoveredWithoutLastRecord(FleetJournal.recover(snapshot, log));
+    }
+    @Test
+    void tornTailIsIgnored() throws Exception {
+        File snapshot = dir.resolve("fleet.snap").toFile();
+        File log = dir.resolve("fleet.log").toFile();
+        journaled(snapshot, log);
+        try (RandomAccessFile raf = new RandomAccessFile(log, "rw")) {
+            raf.setLength(raf.length() - 3);
+        }
+        assertRecoveredWithoutLastRecord(FleetJournal.recover(snapshot, log));
+    }
+    private static void assertRecoveredWithoutLastRecord(List<Vehicle> recovered) {
+        Car c1 = (Car) find(recovered, "C1");
+        assertEquals(35.5, c1.getFuelLevel());
+        assertEquals(12000, c1.getLastServiceMileage());
+        assertEquals(5000, find(recovered, "T1").getCurrentMileage());
+        assertEquals(2000, ((Truck) find(recovered, "T1")).getCurrentCargo());
+        assertNull(find(recovered, "B1"));
+        assertNotNull(find(recovered, "C2"));
+    }
+    private static Vehicle find(List<Vehicle> vehicles, String id) {
+        for (Vehicle v : vehicles) {
+            if (v.getId().equals(id)) return v;
+        }
+        return null;
+    }
+}
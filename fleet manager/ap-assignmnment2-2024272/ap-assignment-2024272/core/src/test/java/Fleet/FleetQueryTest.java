@@ -0,0 +1,66 @@
+package Fleet;
+import Vehicles.Bus;
+import Vehicles.Car;
+import Vehicles.LandVehicle;
+import Vehicles.Vehicle;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+class FleetQueryTest extends QuietFleetTest {
+    private static FleetManager fleet(int size) throws Exception {
+        FleetManager fleet = new FleetManager();
+        for (int i = 0; i < size; i++) {
+            fleet.addVehicle(i % 3 == 0 ? new Bus("B" + i, "Citaro", 80 + i % 7, 6) : new Car("C" + i, "Civic", 100 + i % 11, 4));
+        }
+        return fleet;
+    }
+    private static List<String> ids(FleetCursor cursor) {
+        List<String> ids = new ArrayList<>();
+        cursor.forEachRemaining(v -> ids.add(v.getId()));
+        return ids;
+    }
+    @Test
+    void pagesResumeAfterTheLastVehicleAcrossMembershipChanges() throws Exception {
+        FleetQuery[] queries = {
+            FleetQuery.speedBetween(85, 105), FleetQuery.ofType(LandVehicle.class), FleetQuery.mileageAbove(-1),
+            FleetQuery.modelPrefix("Ci").and(FleetQuery.ofType(Bus.class)), FleetQuery.ofType(Bus.class).or(FleetQuery.speedBetween(100, 103))
+        };
+        for (FleetQuery query : queries) {
+            FleetManager fleet = fleet(60);
+            List<String> expected = ids(fleet.query(query));
+            List<String> seen = new ArrayList<>();
+            List<String> removed = new ArrayList<>();
+            String token = null;
+            int added = 0;
+            do {
+                FleetCursor.Page page = fleet.query(query, 4, token);
+                for (Vehicle v : page.getItems()) seen.add(v.getId());
+                token = page.getContinuationToken();
+                // Drop the first vehicle of the page and one not yet returned, and add a newcomer.
+                String first = page.getItems().get(0).getId();
+                fleet.removeVehicle(first);
+                removed.add(first);
+                String later = expected.get(Math.min(expected.size() - 1, seen.size() + 2));
+                if (fleet.containsId(later)) {
+                    fleet.removeVehicle(later);
+                    removed.add(later);
+                }
+                fleet.addVehicle(new Car("N" + added++, "Civic", 101, 4));
+            } while (token != null);
+            for (String id : expected) {
+                if (!removed.contains(id)) assertTrue(seen.contains(id), query + " missed " + id);
+            }
+            assertEquals(seen.size(), seen.stream().distinct().count(), query + " repeated a vehicle");
+        }
+    }
+    @Test
+    void fleetOrderTokensDoNotSurviveAResort() throws Exception {
+        FleetManager fleet = fleet(20);
+        FleetQuery query = FleetQuery.ofType(Car.class);
+        String token = fleet.query(query, 5, null).getContinuationToken();
+        fleet.sortFleetBySpeed();
+        assertThrows(IllegalArgumentException.class, () -> fleet.query(query, 5, token));
+        assertThrows(IllegalArgumentException.class, () -> fleet.query(FleetQuery.ofType(Bus.class), 5, token));
+    }
+}
@@ -0,0 +1,116 @@
+package Fleet;
+import Exceptions.FileOperationException;
+import Exceptions.InvalidOperationException;
+import Vehicles.AirVehicle;
+import Vehicles.Car;
+import Vehicles.Vehicle;
+import Vehicles.VehicleBuilder;
+import Vehicles.VehicleType;
+import Vehicles.VehicleTypes;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+class FleetSnapshotTest extends QuietFleetTest {
+    @TempDir
+    Path dir;
+    @Test
+    void roundTripKeepsEveryTypeAndItsState() throws Exception {
+        List<Vehicle> fleet = TestFleets.sample();
+        File file = dir.resolve("fleet.snap").toFile();
+        FleetSnapshot.write(fleet, file);
+        List<Vehicle> read = FleetSnapshot.read(file);
+        assertEquals(TestFleets.states(fleet), TestFleets.states(read));
+    }
+    @Test
+    void emptyFleetRoundTrips() throws Exception {
+        File file = dir.resolve("empty.snap").toFile();
+        FleetSnapshot.write(java.util.Collections.emptyList(), file);
+        assertTrue(FleetSnapshot.read(file).isEmpty());
+    }
+    @Test
+    void managerReloadsWhatItSaved() throws Exception {
+        FleetManager saved = new FleetManager();
+        for (Vehicle v : TestFleets.sample()) saved.addVehicle(v);
+        String file = dir.resolve("manager.snap").toString();
+        saved.saveSnapshot(file);
+        FleetManager loaded = new FleetManager();
+        loaded.loadSnapshot(file);
+        assertEquals(TestFleets.states(saved.getFleet()), TestFleets.states(loaded.getFleet()));
+    }
+    @Test
+    void badSnapshotLeavesTheFleetAsItWas() throws Exception {
+        File file = dir.resolve("duplicates.snap").toFile();
+        List<Vehicle> duplicates = TestFleets.sample();
+        duplicates.add(new Car("C1", "Golf", 190, 4));
+        FleetSnapshot.write(duplicates, file);
+        FleetManager fleet = new FleetManager();
+        for (Vehicle v : TestFleets.sample()) fleet.addVehicle(v);
+        List<String> before = TestFleets.states(fleet.getFleet());
+        assertThrows(FileOperationException.class, () -> fleet.loadSnapshot(file.getPath()));
+        assertEquals(before, TestFleets.states(fleet.getFleet()));
+    }
+    @Test
+    void registeredTypesRoundTripThroughSnapshotAndJournal() throws Exception {
+        File snapshot = dir.resolve("fleet.snap").toFile();
+        File log = dir.resolve("fleet.log").toFile();
+        FleetManager fleet = new FleetManager();
+        fleet.enableJournal(snapshot.getPath(), log.getPath());
+        Glider glider = new Glider("G1", "ASK 21", 280, 6000);
+        glider.setCurrentMileage(1200);
+        fleet.addVehicle(glider);
+        File file = dir.resolve("glider.snap").toFile();
+        FleetSnapshot.write(fleet.getFleet(), file);
+        assertEquals(TestFleets.states(fleet.getFleet()), TestFleets.states(FleetSnapshot.read(file)));
+        fleet.closeJournal();
+        assertEquals(TestFleets.states(fleet.getFleet()), TestFleets.states(FleetJournal.recover(snapshot, log)));
+    }
+    @Test
+    void unregisteredTypesAreRejectedBeforeJoining() throws Exception {
+        FleetManager fleet = new FleetManager();
+        Vehicle stray = new AirVehicle("X1", "Prototype", 100, 500) {
+            @Override
+            public void move(double distance) {
+            }
+            @Override
+            public double calculateFuelEfficiency() {
+                return 0;
+            }
+        };
+        assertThrows(InvalidOperationException.class, () -> fleet.addVehicle(stray));
+        assertEquals(0, fleet.getFleet().size());
+        assertNull(stray.getObserver());
+    }
+    static class Glider extends AirVehicle {
+        static final VehicleType TYPE = new VehicleType() {
+            @Override
+            public String getName() {
+                return "Glider";
+            }
+            @Override
+            public Class<? extends Vehicle> getVehicleClass() {
+                return Glider.class;
+            }
+            @Override
+            public Vehicle build(VehicleBuilder b) throws InvalidOperationException {
+                return restore(new Glider(b.getId(), b.getModel(), b.getMaxSpeed(), b.getAltitude(3000)), b);
+            }
+        };
+        static {
+            VehicleTypes.register(TYPE);
+        }
+        Glider(String id, String model, double maxSpeed, double maxAltitude) throws InvalidOperationException {
+            super(id, model, maxSpeed, maxAltitude);
+        }
+        @Override
+        public void move(double distance) {
+            addMileage(distance);
+        }
+        @Override
+        public double calculateFuelEfficiency() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package Fleet;
+import Interfaces.FuelConsumable;
+import Vehicles.*;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+class FuelProjectorTest extends QuietFleetTest {
+    @Test
+    void projectsFuelPerTypeAndFlagsShortfalls() throws Exception {
+        FleetManager manager = new FleetManager();
+        for (Vehicle v : TestFleets.sample()) manager.addVehicle(v);
+        double distance = 1000;
+        FuelProjection projection = manager.projectFuel(distance);
+        double total = 0;
+        int count = 0;
+        List<String> shortfalls = new ArrayList<>();
+        for (Vehicle v : manager.getFleet()) {
+            if (!(v instanceof FuelConsumable)) continue;
+            double efficiency = v.calculateFuelEfficiency();
+            double needed = efficiency > 0 ? distance / efficiency : 0.0;
+            total += needed;
+            count++;
+            if (needed > ((FuelConsumable) v).getFuelLevel()) shortfalls.add(v.getId());
+            assertEquals(needed, projection.getByType().get(v.getClass().getSimpleName()).getFuel(), 1e-9);
+        }
+        assertEquals(count, projection.getVehicles());
+        assertEquals(total, projection.getTotalFuel(), 1e-9);
+        assertEquals(distance * count, projection.getTotalDistance(), 1e-9);
+        List<String> reported = new ArrayList<>();
+        for (FuelProjection.Shortfall s : projection.getShortfalls()) reported.add(s.getVehicleId());
+        assertEquals(shortfalls, reported);
+    }
+    @Test
+    void largeFleetMatchesASequentialSum() throws Exception {
+        FleetManager manager = new FleetManager();
+        Random random = new Random(5);
+        for (int i = 0; i < 5000; i++) {
+            Truck truck = new Truck("T" + i, "Truck", 100, 6);
+            truck.refuel(1 + random.nextInt(300));
+            truck.loadCargo(random.nextInt(5000));
+            manager.addVehicle(truck);
+        }
+        FuelScenario scenario = new FuelScenario("Loaded", 800).withCargoChange(1500);
+        FuelProjection projection = manager.projectFuel(Collections.singletonList(scenario)).get(0);
+        double total = 0;
+        int shortfalls = 0;
+        for (Vehicle v : manager.getFleet()) {
+            Truck truck = (Truck) v;
+            double projected = Math.min(truck.getCargoCapacity(), truck.getCurrentCargo() + 1500);
+            double needed = 800 / truck.projectedFuelEfficiency(projected - truck.getCurrentCargo());
+            total += needed;
+            if (needed > truck.getFuelLevel()) shortfalls++;
+        }
+        assertEquals(total, projection.getTotalFuel(), 1e-6);
+        assertEquals(shortfalls, projection.getShortfalls().size());
+    }
+    @Test
+    void sailingShipsBurnNothingUnlessSailsAreOff() throws Exception {
+        FleetManager manager = new FleetManager();
+        CargoShip ship = new CargoShip("S1", "Clipper", 30, true);
+        manager.addVehicle(ship);
+        List<FuelProjection> projections = manager.projectFuel(Arrays.asList(
+                new FuelScenario("Sail", 100), new FuelScenario("Engine", 100).withSails(false)));
+        assertEquals(0.0, projections.get(0).getTotalFuel());
+        assertEquals(100 / ship.getEngineFuelEfficiency(), projections.get(1).getTotalFuel(), 1e-9);
+        assertFalse(projections.get(1).isFeasible());
+    }
+}
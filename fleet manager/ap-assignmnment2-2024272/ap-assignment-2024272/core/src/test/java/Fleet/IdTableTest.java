@@ -0,0 +1,51 @@
+package Fleet;
+import Vehicles.Car;
+import Vehicles.Vehicle;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+class IdTableTest extends QuietFleetTest {
+    @Test
+    void removalsKeepEveryOtherKeyReachable() {
+        IdTable table = new IdTable(8);
+        Map<String, Integer> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int step = 0; step < 20000; step++) {
+            String key = "V" + random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                Integer value = expected.remove(key);
+                assertEquals(value == null ? -1 : value, table.remove(key));
+            } else if (!expected.containsKey(key)) {
+                assertEquals(-1, table.putIfAbsent(key, step));
+                expected.put(key, step);
+            } else {
+                assertEquals(expected.get(key).intValue(), table.putIfAbsent(key, step));
+            }
+            assertEquals(expected.size(), table.size());
+        }
+        for (int k = 0; k < 500; k++) {
+            String key = "V" + k;
+            assertEquals(expected.getOrDefault(key, -1).intValue(), table.get(key), key);
+        }
+    }
+    @Test
+    void registryReusesFreedHandlesAndKeepsFleetOrder() throws Exception {
+        VehicleRegistry registry = new VehicleRegistry();
+        Vehicle a = new Car("A", "M", 100, 4);
+        Vehicle b = new Car("B", "M", 100, 4);
+        Vehicle c = new Car("C", "M", 100, 4);
+        int ha = registry.add(a);
+        int hb = registry.add(b);
+        registry.add(c);
+        assertEquals(-1, registry.add(new Car("B", "Other", 100, 4)));
+        registry.remove(hb);
+        assertNull(registry.get("B"));
+        assertNull(registry.byHandle(hb));
+        Vehicle d = new Car("D", "M", 100, 4);
+        assertEquals(hb, registry.add(d));
+        assertEquals(3, registry.handleLimit());
+        assertEquals(Arrays.asList(a, c, d), new ArrayList<>(registry.values()));
+        assertSame(a, registry.byHandle(ha));
+        assertEquals(hb, registry.handleOf("D"));
+    }
+}
@@ -0,0 +1,76 @@
+package Fleet;
+import Vehicles.Bus;
+import Vehicles.Car;
+import Vehicles.Vehicle;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+class MappedVehicleStoreTest extends QuietFleetTest {
+    @TempDir
+    Path dir;
+    @Test
+    void fleetChangesSurviveReopening() throws Exception {
+        String file = dir.resolve("fleet.store").toString();
+        FleetManager manager = new FleetManager();
+        for (Vehicle v : TestFleets.sample()) manager.addVehicle(v);
+        manager.openStore(file);
+        manager.addVehicle(new Bus("B2", "Urbino", 80, 6));
+        manager.removeVehicle("T1");
+        ((Car) manager.getById("C1")).setFuelLevel(20);
+        ((Car) manager.getById("C1")).setLastServiceMileage(12000);
+        manager.getById("A1").setCurrentMileage(400500);
+        manager.closeStore();
+        FleetManager reopened = new FleetManager();
+        reopened.openStore(file);
+        assertEquals(TestFleets.states(manager.getFleet()), TestFleets.states(reopened.getFleet()));
+        reopened.closeStore();
+    }
+    @Test
+    void flyweightChangesAreWrittenThrough() throws Exception {
+        Path file = dir.resolve("fleet.store");
+        try (MappedVehicleStore store = MappedVehicleStore.open(file)) {
+            for (Vehicle v : TestFleets.sample()) store.add(v);
+            Car car = (Car) store.get("C1");
+            assertSame(car, store.get("C1"));
+            car.setFuelLevel(20);
+            car.setCurrentMileage(20000);
+            assertTrue(store.remove("T1"));
+            assertNull(store.get("T1"));
+        }
+        try (MappedVehicleStore store = MappedVehicleStore.open(file)) {
+            Car car = (Car) store.get("C1");
+            assertEquals(20.0, car.getFuelLevel());
+            assertEquals(20000.0, car.getCurrentMileage());
+            assertFalse(store.contains("T1"));
+        }
+    }
+    @Test
+    void storeBackingAFleetRefusesDirectChanges() throws Exception {
+        FleetManager manager = new FleetManager();
+        manager.openStore(dir.resolve("fleet.store").toString());
+        try (MappedVehicleStore other = MappedVehicleStore.open(dir.resolve("other.store"))) {
+            assertThrows(Exceptions.FileOperationException.class, () -> manager.openStore(other.getPath().toString()));
+        }
+        manager.closeStore();
+    }
+    @Test
+    void saveToStoreDropsOrphansAndStaleFlyweights() throws Exception {
+        try (MappedVehicleStore store = MappedVehicleStore.open(dir.resolve("export.store"))) {
+            store.add(new Car("OLD", "Gone", 100, 4));
+            Vehicle orphan = store.get("OLD");
+            FleetManager manager = new FleetManager();
+            for (Vehicle v : TestFleets.sample()) manager.addVehicle(v);
+            manager.saveToStore(store);
+            assertFalse(store.contains("OLD"));
+            assertEquals(manager.getFleet().size(), store.size());
+            assertNull(orphan.getObserver());
+            Vehicle cached = store.get("C1");
+            Car replacement = new Car("C1", "Civic \"Type R\"", 180, 4);
+            replacement.setFuelLevel(5);
+            store.put(replacement);
+            assertNull(cached.getObserver());
+            assertEquals(5.0, ((Car) store.get("C1")).getFuelLevel());
+        }
+    }
+}
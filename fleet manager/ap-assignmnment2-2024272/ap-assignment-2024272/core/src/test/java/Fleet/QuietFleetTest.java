@@ -0,0 +1,18 @@
+package Fleet;
+import Events.FleetEvents;
+import Events.NoOpEventSink;
+import Interfaces.EventSink;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+// Mutes vehicle events for the duration of each test.
+abstract class QuietFleetTest {
+    private EventSink previousSink;
+    @BeforeEach
+    void muteEvents() {
+        previousSink = FleetEvents.setSink(NoOpEventSink.INSTANCE);
+    }
+    @AfterEach
+    void restoreEvents() {
+        FleetEvents.setSink(previousSink);
+    }
+}
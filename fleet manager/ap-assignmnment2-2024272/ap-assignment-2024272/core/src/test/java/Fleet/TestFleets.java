@@ -0,0 +1,52 @@
+package Fleet;
+import Exceptions.InvalidOperationException;
+import Exceptions.OverloadException;
+import Interfaces.CargoCarrier;
+import Interfaces.FuelConsumable;
+import Interfaces.Maintainable;
+import Interfaces.PassengerCarrier;
+import Vehicles.*;
+import java.util.*;
+// One vehicle of every built-in type, and a flat view of a vehicle's state for comparing two instances.
+final class TestFleets {
+    private TestFleets() {
+    }
+    static List<Vehicle> sample() throws InvalidOperationException, OverloadException {
+        Car car = new Car("C1", "Civic \"Type R\"", 180, 4);
+        car.refuel(35.5);
+        car.boardPassengers(3);
+        car.setCurrentMileage(12345.678);
+        car.setLastServiceMileage(10000);
+        Truck truck = new Truck("T1", "Volvo FH", 110, 6);
+        truck.refuel(200);
+        truck.loadCargo(2500);
+        truck.setMaintenanceScheduled(true);
+        Bus bus = new Bus("B1", "Citaro", 90, 6);
+        bus.refuel(120);
+        bus.boardPassengers(30);
+        Airplane plane = new Airplane("A1", "A320", 830, 11000);
+        plane.refuel(5000);
+        plane.setCurrentMileage(400000);
+        CargoShip ship = new CargoShip("S1", "Ever Given", 40, true);
+        ship.loadCargo(10000);
+        return new ArrayList<>(Arrays.asList(car, truck, bus, plane, ship));
+    }
+    static String state(Vehicle v) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(v.getClass().getSimpleName()).append('|').append(v.getId()).append('|').append(v.getModel())
+                .append('|').append(v.getMaxSpeed()).append('|').append(v.getCurrentMileage());
+        if (v instanceof FuelConsumable) sb.append("|fuel=").append(((FuelConsumable) v).getFuelLevel());
+        if (v instanceof CargoCarrier) sb.append("|cargo=").append(((CargoCarrier) v).getCurrentCargo());
+        if (v instanceof PassengerCarrier) sb.append("|seats=").append(((PassengerCarrier) v).getCurrentPassengers());
+        if (v instanceof Maintainable) sb.append("|scheduled=").append(((Maintainable) v).isMaintenanceScheduled());
+        if (v instanceof Car) sb.append("|serviced=").append(((Car) v).getLastServiceMileage());
+        if (v instanceof Airplane) sb.append("|altitude=").append(((Airplane) v).getMaxAltitude());
+        if (v instanceof WaterVehicle) sb.append("|sail=").append(((WaterVehicle) v).hasSail());
+        return sb.toString();
+    }
+    static List<String> states(Collection<Vehicle> vehicles) {
+        List<String> states = new ArrayList<>();
+        for (Vehicle v : vehicles) states.add(state(v));
+        return states;
+    }
+}
@@ -0,0 +1,85 @@
+package Fleet;
+import Interfaces.CargoCarrier;
+import Interfaces.FuelConsumable;
+import Interfaces.PassengerCarrier;
+import Vehicles.*;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+class TripPlannerTest extends QuietFleetTest {
+    // Every vehicle that can make the trip, fastest first, then by fuel burned, then fleet order.
+    private static List<String> reference(Collection<Vehicle> fleet, TripRequest trip) {
+        List<Vehicle> feasible = new ArrayList<>();
+        for (Vehicle v : fleet) {
+            if (trip.getPayload() > 0 && !(v instanceof CargoCarrier
+                    && ((CargoCarrier) v).getCargoCapacity() - ((CargoCarrier) v).getCurrentCargo() >= trip.getPayload())) continue;
+            if (trip.getPassengers() > 0 && !(v instanceof PassengerCarrier
+                    && ((PassengerCarrier) v).getPassengerCapacity() - ((PassengerCarrier) v).getCurrentPassengers() >= trip.getPassengers())) continue;
+            if (!(v.estimateJourneyTime(trip.getDistance()) <= trip.getDeadlineHours())) continue;
+            double fuel = v instanceof FuelConsumable ? ((FuelConsumable) v).getFuelLevel() : Double.POSITIVE_INFINITY;
+            if (fuelNeeded(v, trip) > fuel) continue;
+            feasible.add(v);
+        }
+        feasible.sort(Comparator.<Vehicle>comparingDouble(v -> v.estimateJourneyTime(trip.getDistance()))
+                .thenComparingDouble(v -> fuelNeeded(v, trip)));
+        List<String> ids = new ArrayList<>();
+        for (Vehicle v : feasible) ids.add(v.getId());
+        return ids;
+    }
+    private static double fuelNeeded(Vehicle v, TripRequest trip) {
+        double efficiency = v.projectedFuelEfficiency(trip.getPayload());
+        return efficiency > 0 ? trip.getDistance() / efficiency : 0.0;
+    }
+    private static FleetManager fleet() throws Exception {
+        FleetManager manager = new FleetManager();
+        Random random = new Random(11);
+        for (int i = 0; i < 300; i++) {
+            Vehicle v;
+            switch (i % 5) {
+                case 0: v = new Car("C" + i, "Car", 80 + random.nextInt(120), 4); break;
+                case 1: v = new Truck("T" + i, "Truck", 60 + random.nextInt(60), 6); break;
+                case 2: v = new Bus("B" + i, "Bus", 60 + random.nextInt(40), 6); break;
+                case 3: v = new Airplane("A" + i, "Plane", 500 + random.nextInt(400), 10000); break;
+                default: v = new CargoShip("S" + i, "Ship", 20 + random.nextInt(30), random.nextBoolean()); break;
+            }
+            if (v instanceof FuelConsumable && !(v instanceof CargoShip && ((CargoShip) v).hasSail())) {
+                ((FuelConsumable) v).refuel(1 + random.nextInt(400));
+            }
+            if (v instanceof CargoCarrier) ((CargoCarrier) v).loadCargo(random.nextInt((int) ((CargoCarrier) v).getCargoCapacity()));
+            if (v instanceof PassengerCarrier) ((PassengerCarrier) v).boardPassengers(random.nextInt(((PassengerCarrier) v).getPassengerCapacity()));
+            manager.addVehicle(v);
+        }
+        return manager;
+    }
+    @Test
+    void ranksFeasibleVehiclesLikeAFullSort() throws Exception {
+        FleetManager manager = fleet();
+        Random random = new Random(3);
+        List<TripRequest> trips = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            trips.add(new TripRequest(random.nextInt(3000), 1 + random.nextInt(60),
+                    random.nextInt(4) == 0 ? random.nextInt(3000) : 0, random.nextInt(4) == 0 ? random.nextInt(40) : 0));
+        }
+        List<TripPlan> sequential = manager.planTrips(trips, 1);
+        List<TripPlan> parallel = manager.planTrips(trips, 4);
+        assertTrue(sequential.stream().anyMatch(TripPlan::isFeasible));
+        assertTrue(sequential.stream().anyMatch(plan -> !plan.isFeasible()));
+        for (int i = 0; i < trips.size(); i++) {
+            List<String> expected = reference(manager.getFleet(), trips.get(i));
+            assertEquals(expected, ids(sequential.get(i)), trips.get(i).toString());
+            assertEquals(expected, ids(parallel.get(i)), trips.get(i).toString());
+        }
+    }
+    @Test
+    void planningLeavesTheFleetUntouched() throws Exception {
+        FleetManager manager = fleet();
+        List<String> before = TestFleets.states(manager.getFleet());
+        manager.planTrips(Collections.singletonList(new TripRequest(500, 10, 100, 2)), 1);
+        assertEquals(before, TestFleets.states(manager.getFleet()));
+    }
+    private static List<String> ids(TripPlan plan) {
+        List<String> ids = new ArrayList<>();
+        for (TripPlan.Option option : plan.getOptions()) ids.add(option.getVehicle().getId());
+        return ids;
+    }
+}
@@ -0,0 +1,137 @@
+package Events;
+import Interfaces.EventSink;
+import Vehicles.Vehicle;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+// Multi-producer ring buffer drained by one writer thread.
+public class AsyncEventSink implements EventSink {
+    public static final int DEFAULT_CAPACITY = 1 << 14;
+    private static final int BATCH_CHARS = 1 << 13;
+    private static final long IDLE_PARK_NANOS = 1_000_000L;
+    private final PrintStream out;
+    private final int mask;
+    private final boolean dropWhenFull;
+    private final EventType[] types;
+    private final Vehicle[] vehicles;
+    private final double[] firsts;
+    private final double[] seconds;
+    private final AtomicLongArray published;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile long consumed;
+    private volatile long written;
+    private volatile boolean sleeping;
+    private volatile boolean running = true;
+    private final Thread writer;
+    public AsyncEventSink() {
+        this(System.out, DEFAULT_CAPACITY, false);
+    }
+    // When dropWhenFull is false a full buffer makes publishers wait for the writer instead of losing events.
+    public AsyncEventSink(PrintStream out, int capacity, boolean dropWhenFull) {
+        int n = Integer.highestOneBit(Math.max(capacity, 2));
+        if (n < capacity) n <<= 1;
+        this.out = out;
+        this.mask = n - 1;
+        this.dropWhenFull = dropWhenFull;
+        this.types = new EventType[n];
+        this.vehicles = new Vehicle[n];
+        this.firsts = new double[n];
+        this.seconds = new double[n];
+        long[] empty = new long[n];
+        Arrays.fill(empty, -1L);
+        this.published = new AtomicLongArray(empty);
+        this.writer = new Thread(this::drain, "fleet-event-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+    @Override
+    public void publish(EventType type, Vehicle vehicle, double first, double second) {
+        if (!running) {
+            dropped.incrementAndGet();
+            return;
+        }
+        long seq;
+        if (dropWhenFull) {
+            do {
+                seq = claimed.get();
+                if (seq - consumed > mask) {
+                    dropped.incrementAndGet();
+                    return;
+                }
+            } while (!claimed.compareAndSet(seq, seq + 1));
+        } else {
+            seq = claimed.getAndIncrement();
+            while (seq - consumed > mask) {
+                LockSupport.unpark(writer);
+                Thread.yield();
+            }
+        }
+        int i = (int) seq & mask;
+        types[i] = type;
+        vehicles[i] = vehicle;
+        firsts[i] = first;
+        seconds[i] = second;
+        published.set(i, seq);
+        if (sleeping) LockSupport.unpark(writer);
+    }
+    private void drain() {
+        StringBuilder batch = new StringBuilder(BATCH_CHARS * 2);
+        String newline = System.lineSeparator();
+        long next = 0;
+        while (true) {
+            int i = (int) next & mask;
+            if (published.get(i) == next) {
+                types[i].format(batch, vehicles[i], firsts[i], seconds[i]);
+                batch.append(newline);
+                types[i] = null;
+                vehicles[i] = null;
+                consumed = ++next;
+                if (batch.length() >= BATCH_CHARS) {
+                    write(batch, next);
+                }
+                continue;
+            }
+            if (batch.length() > 0) {
+                write(batch, next);
+            }
+            written = next;
+            if (!running && next == claimed.get()) break;
+            sleeping = true;
+            if (published.get(i) != next) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            sleeping = false;
+        }
+    }
+    private void write(StringBuilder batch, long upTo) {
+        out.append(batch);
+        out.flush();
+        batch.setLength(0);
+        written = upTo;
+    }
+    // Blocks until every event published before the call has been written.
+    @Override
+    public void flush() {
+        long target = claimed.get();
+        while (written < target && writer.isAlive()) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(IDLE_PARK_NANOS / 10);
+        }
+    }
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+}
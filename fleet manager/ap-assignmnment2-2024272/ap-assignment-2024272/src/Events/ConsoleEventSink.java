@@ -0,0 +1,23 @@
+package Events;
+import Interfaces.EventSink;
+import Vehicles.Vehicle;
+import java.io.PrintStream;
+// Writes each event synchronously, exactly as the vehicles used to print it.
+public class ConsoleEventSink implements EventSink {
+    private final PrintStream out;
+    // With no stream the sink follows System.out, including later System.setOut calls.
+    public ConsoleEventSink() {
+        this(null);
+    }
+    public ConsoleEventSink(PrintStream out) {
+        this.out = out;
+    }
+    @Override
+    public void publish(EventType type, Vehicle vehicle, double first, double second) {
+        (out != null ? out : System.out).println(type.format(vehicle, first, second));
+    }
+    @Override
+    public void flush() {
+        (out != null ? out : System.out).flush();
+    }
+}
@@ -0,0 +1,126 @@
+package Events;
+import Vehicles.AirVehicle;
+import Vehicles.CargoShip;
+import Vehicles.Vehicle;
+// Message text for each vehicle event; formatting is deferred until a sink actually writes the event.
+public enum EventType {
+    OUT_OF_FUEL {
+        @Override
+        public void format(StringBuilder sb, Vehicle v, double first, double second) {
+            sb.append("Not enough fuel! ").append(label(v)).append(" cannot move.");
+        }
+    },
+    DRIVEN {
+        @Override
+        public void format(StringBuilder sb, Vehicle v, double distance, double fuelUsed) {
+            sb.append("Driving on road for ").append(distance).append(" km. Fuel used: ").append(fuelUsed);
+        }
+    },
+    HAULED {
+        @Override
+        public void format(StringBuilder sb, Vehicle v, double distance, double fuelUsed) {
+            sb.append("Hauling cargo for ").append(distance).append(" km. Fuel used: ").append(fuelUsed);
+        }
+    },
+    TRANSPORTED {
+        @Override
+        public void format(StringBuilder sb, Vehicle v, double distance, double fuelUsed) {
+            sb.append("Transporting passengers and cargo for ").append(distance).append(" km. Fuel used: ").append(fuelUsed);
+        }
+    },
+    FLOWN {
+        @Override
+        public void format(StringBuilder sb, Vehicle v, double distance, double fuelUsed) {
+            sb.append("Flying at altitude ").append(((AirVehicle) v).getMaxAltitude())
+              .append(" meters for ").append(distance).append(" km. Fuel used: ").append(fuelUsed);
+        }
+    },
+    SAILED {
+        @Override
+        public void format(StringBuilder sb, Vehicle v, double distance, double fuelUsed) {
+            sb.append("Sailing with cargo for ").append(distance).append(" km.");
+        }
+    },
+    REFUELED {
+        @Override
+        public void format(StringBuilder sb, Vehicle v, double amount, double fuelLevel) {
+            sb.append(label(v)).append(" refueled: ").append(amount).append(" liters. Current fuel: ").append(fuelLevel);
+        }
+    },
+    SAIL_POWERED {
+        @Override
+        public void format(StringBuilder sb, Vehicle v, double first, double second) {
+            sb.append("This cargo ship uses sails and does not need fuel.");
+        }
+    },
+    PASSENGERS_BOARDED {
+        @Override
+        public void format(StringBuilder sb, Vehicle v, double count, double onboard) {
+            sb.append((int) count).append(" passengers boarded. Now onboard: ").append((int) onboard);
+        }
+    },
+    PASSENGERS_DISEMBARKED {
+        @Override
+        public void format(StringBuilder sb, Vehicle v, double count, double onboard) {
+            sb.append((int) count).append(" passengers disembarked. Now onboard: ").append((int) onboard);
+        }
+    },
+    CARGO_LOADED {
+        @Override
+        public void format(StringBuilder sb, Vehicle v, double weight, double cargo) {
+            sb.append("Loaded ").append(weight).append(" kg. Current cargo: ").append(cargo);
+        }
+    },
+    CARGO_UNLOADED {
+        @Override
+        public void format(StringBuilder sb, Vehicle v, double weight, double cargo) {
+            sb.append("Unloaded ").append(weight).append(" kg. Current cargo: ").append(cargo);
+        }
+    },
+    MAINTENANCE_DUE {
+        @Override
+        public void format(StringBuilder sb, Vehicle v, double mileage, double second) {
+            sb.append(v.getId()).append(" now requires maintenance (mileage: ").append(mileage).append(")");
+        }
+    },
+    MAINTENANCE_SCHEDULED {
+        @Override
+        public void format(StringBuilder sb, Vehicle v, double first, double second) {
+            sb.append(label(v)).append(" scheduled for maintenance.");
+        }
+    },
+    MAINTENANCE_PERFORMED {
+        @Override
+        public void format(StringBuilder sb, Vehicle v, double first, double second) {
+            sb.append(label(v)).append(" maintenance performed. Ready to go!");
+        }
+    },
+    SERVICED {
+        @Override
+        public void format(StringBuilder sb, Vehicle v, double first, double second) {
+            sb.append("Maintenance performed for ").append(label(v)).append(' ').append(v.getId());
+        }
+    },
+    SERVICE_NOT_NEEDED {
+        @Override
+        public void format(StringBuilder sb, Vehicle v, double first, double second) {
+            sb.append(label(v)).append(' ').append(v.getId()).append(" does not need maintenance.");
+        }
+    },
+    LOADED {
+        @Override
+        public void format(StringBuilder sb, Vehicle v, double maintenanceNeeded, double second) {
+            sb.append("Loaded ").append(label(v)).append(' ').append(v.getId())
+              .append(" (maintenanceNeeded=").append(maintenanceNeeded != 0).append(")");
+        }
+    };
+    public abstract void format(StringBuilder sb, Vehicle v, double first, double second);
+    public String format(Vehicle v, double first, double second) {
+        StringBuilder sb = new StringBuilder(64);
+        format(sb, v, first, second);
+        return sb.toString();
+    }
+    private static String label(Vehicle v) {
+        return v instanceof CargoShip ? "Cargo ship" : v.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,22 @@
+package Events;
+import Interfaces.EventSink;
+import Vehicles.Vehicle;
+// Process-wide sink used by the vehicle classes; defaults to the console so behaviour is unchanged.
+public class FleetEvents {
+    private static volatile EventSink sink = new ConsoleEventSink();
+    public static EventSink getSink() {
+        return sink;
+    }
+    // Swaps the sink and returns the previous one, which the caller is responsible for flushing or closing.
+    public static EventSink setSink(EventSink newSink) {
+        EventSink previous = sink;
+        sink = newSink == null ? NoOpEventSink.INSTANCE : newSink;
+        return previous;
+    }
+    public static void publish(EventType type, Vehicle vehicle, double first, double second) {
+        sink.publish(type, vehicle, first, second);
+    }
+    public static void publish(EventType type, Vehicle vehicle) {
+        sink.publish(type, vehicle, 0.0, 0.0);
+    }
+}
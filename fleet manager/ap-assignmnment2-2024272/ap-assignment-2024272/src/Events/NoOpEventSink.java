@@ -0,0 +1,9 @@
+package Events;
+import Interfaces.EventSink;
+import Vehicles.Vehicle;
+public class NoOpEventSink implements EventSink {
+    public static final NoOpEventSink INSTANCE = new NoOpEventSink();
+    @Override
+    public void publish(EventType type, Vehicle vehicle, double first, double second) {
+    }
+}
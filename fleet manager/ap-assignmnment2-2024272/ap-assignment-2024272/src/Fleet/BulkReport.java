@@ -0,0 +1,76 @@
+package Fleet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+public class BulkReport {
+    public static class Rejection {
+        private final String vehicleId;
+        private final double amount;
+        private final String reason;
+        private final boolean overload;
+        public Rejection(String vehicleId, double amount, String reason, boolean overload) {
+            this.vehicleId = vehicleId;
+            this.amount = amount;
+            this.reason = reason;
+            this.overload = overload;
+        }
+        public String getVehicleId() {
+            return vehicleId;
+        }
+        public double getAmount() {
+            return amount;
+        }
+        public String getReason() {
+            return reason;
+        }
+        public boolean isOverload() {
+            return overload;
+        }
+        @Override
+        public String toString() {
+            return vehicleId + " (" + amount + "): " + reason;
+        }
+    }
+    private final String operation;
+    private final int requested;
+    private final int applied;
+    private final double appliedAmount;
+    private final List<Rejection> rejections;
+    public BulkReport(String operation, int requested, int applied, double appliedAmount, List<Rejection> rejections) {
+        this.operation = operation;
+        this.requested = requested;
+        this.applied = applied;
+        this.appliedAmount = appliedAmount;
+        this.rejections = Collections.unmodifiableList(rejections);
+    }
+    public String getOperation() {
+        return operation;
+    }
+    public int getRequested() {
+        return requested;
+    }
+    public int getApplied() {
+        return applied;
+    }
+    public double getAppliedAmount() {
+        return appliedAmount;
+    }
+    public List<Rejection> getRejections() {
+        return rejections;
+    }
+    public List<Rejection> getOverloads() {
+        List<Rejection> overloads = new ArrayList<>();
+        for (Rejection r : rejections) {
+            if (r.isOverload()) overloads.add(r);
+        }
+        return overloads;
+    }
+    public boolean isSuccessful() {
+        return rejections.isEmpty();
+    }
+    @Override
+    public String toString() {
+        return operation + ": " + applied + "/" + requested + " applied (" + appliedAmount + " total), "
+                + rejections.size() + " rejected";
+    }
+}
@@ -0,0 +1,694 @@
+package Fleet;
+import Exceptions.FileOperationException;
+import Exceptions.InsufficientFuelException;
+import Exceptions.InvalidOperationException;
+import Exceptions.OverloadException;
+import Interfaces.CargoCarrier;
+import Interfaces.FuelConsumable;
+import Interfaces.Maintainable;
+import Interfaces.PassengerCarrier;
+import Vehicles.Vehicle;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+// Membership changes take the structure lock exclusively; per-vehicle work shares it and locks its ID's stripe.
+public class ConcurrentFleetManager extends FleetManager {
+    public static final int DEFAULT_STRIPES = 64;
+    public interface VehicleAction<V, T, E extends Exception> {
+        T apply(V vehicle) throws E;
+    }
+    private final ReentrantReadWriteLock structure = new ReentrantReadWriteLock();
+    private final ReentrantLock[] stripes;
+    private final int mask;
+    public ConcurrentFleetManager() {
+        this(DEFAULT_STRIPES);
+    }
+    public ConcurrentFleetManager(int stripeCount) {
+        int n = Integer.highestOneBit(Math.max(stripeCount, 1));
+        if (n < stripeCount) n <<= 1;
+        this.stripes = new ReentrantLock[n];
+        for (int i = 0; i < n; i++) stripes[i] = new ReentrantLock();
+        this.mask = n - 1;
+    }
+    private ReentrantLock stripeFor(String id) {
+        int h = id.hashCode();
+        return stripes[(h ^ (h >>> 16)) & mask];
+    }
+    @Override
+    public void addVehicle(Vehicle v) throws InvalidOperationException {
+        structure.writeLock().lock();
+        try {
+            super.addVehicle(v);
+        } finally {
+            structure.writeLock().unlock();
+        }
+    }
+    @Override
+    public void removeVehicle(String id) throws InvalidOperationException {
+        structure.writeLock().lock();
+        try {
+            super.removeVehicle(id);
+        } finally {
+            structure.writeLock().unlock();
+        }
+    }
+    @Override
+    public Vehicle getById(String id) {
+        structure.readLock().lock();
+        try {
+            return super.getById(id);
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    @Override
+    public int getHandle(String id) {
+        structure.readLock().lock();
+        try {
+            return super.getHandle(id);
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    @Override
+    public Vehicle getByHandle(int handle) {
+        structure.readLock().lock();
+        try {
+            return super.getByHandle(handle);
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    @Override
+    public int getHandleLimit() {
+        structure.readLock().lock();
+        try {
+            return super.getHandleLimit();
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    @Override
+    public boolean containsId(String id) {
+        structure.readLock().lock();
+        try {
+            return super.containsId(id);
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    @Override
+    public int size() {
+        structure.readLock().lock();
+        try {
+            return super.size();
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    // Runs the action with the vehicle's stripe held; the vehicle cannot be removed until it returns.
+    public <T, E extends Exception> T withVehicle(String id, VehicleAction<Vehicle, T, E> action) throws InvalidOperationException, E {
+        return withVehicle(id, Vehicle.class, "be used", action);
+    }
+    public <C, T, E extends Exception> T withVehicle(String id, Class<C> capability, String what,
+                                                      VehicleAction<C, T, E> action) throws InvalidOperationException, E {
+        structure.readLock().lock();
+        try {
+            Vehicle v = super.getById(id);
+            if (v == null)
+                throw new InvalidOperationException("Vehicle with ID " + id + " not found.");
+            return apply(v, capability, what, action);
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    // The handle-based forms skip the ID lookup; the handle must come from getHandle since the last removal.
+    public <T, E extends Exception> T withVehicle(int handle, VehicleAction<Vehicle, T, E> action) throws InvalidOperationException, E {
+        return withVehicle(handle, Vehicle.class, "be used", action);
+    }
+    public <C, T, E extends Exception> T withVehicle(int handle, Class<C> capability, String what,
+                                                      VehicleAction<C, T, E> action) throws InvalidOperationException, E {
+        structure.readLock().lock();
+        try {
+            Vehicle v = super.getByHandle(handle);
+            if (v == null)
+                throw new InvalidOperationException("No vehicle with handle " + handle + ".");
+            return apply(v, capability, what, action);
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    private <C, T, E extends Exception> T apply(Vehicle v, Class<C> capability, String what,
+                                                VehicleAction<C, T, E> action) throws InvalidOperationException, E {
+        if (!capability.isInstance(v))
+            throw new InvalidOperationException("Vehicle " + v.getId() + " cannot " + what + ".");
+        ReentrantLock stripe = stripeFor(v.getId());
+        stripe.lock();
+        try {
+            return action.apply(capability.cast(v));
+        } finally {
+            stripe.unlock();
+        }
+    }
+    public void move(String id, double distance) throws InvalidOperationException {
+        withVehicle(id, v -> {
+            v.move(distance);
+            return null;
+        });
+    }
+    public void move(int handle, double distance) throws InvalidOperationException {
+        withVehicle(handle, v -> {
+            v.move(distance);
+            return null;
+        });
+    }
+    public void refuel(int handle, double amount) throws InvalidOperationException {
+        withVehicle(handle, FuelConsumable.class, "consume fuel", f -> {
+            f.refuel(amount);
+            return null;
+        });
+    }
+    public void refuel(String id, double amount) throws InvalidOperationException {
+        withVehicle(id, FuelConsumable.class, "consume fuel", f -> {
+            f.refuel(amount);
+            return null;
+        });
+    }
+    public void loadCargo(String id, double weight) throws InvalidOperationException, OverloadException {
+        withVehicle(id, CargoCarrier.class, "carry cargo", c -> {
+            c.loadCargo(weight);
+            return null;
+        });
+    }
+    public void unloadCargo(String id, double weight) throws InvalidOperationException {
+        withVehicle(id, CargoCarrier.class, "carry cargo", c -> {
+            c.unloadCargo(weight);
+            return null;
+        });
+    }
+    public void boardPassengers(String id, int count) throws InvalidOperationException, OverloadException {
+        withVehicle(id, PassengerCarrier.class, "carry passengers", p -> {
+            p.boardPassengers(count);
+            return null;
+        });
+    }
+    public void disembarkPassengers(String id, int count) throws InvalidOperationException {
+        withVehicle(id, PassengerCarrier.class, "carry passengers", p -> {
+            p.disembarkPassengers(count);
+            return null;
+        });
+    }
+    public void performMaintenance(String id) throws InvalidOperationException {
+        withVehicle(id, Maintainable.class, "be maintained", m -> {
+            m.performMaintenance();
+            return null;
+        });
+    }
+    @Override
+    protected void moveVehicle(Vehicle v, double distance) throws InvalidOperationException, InsufficientFuelException {
+        structure.readLock().lock();
+        ReentrantLock stripe = stripeFor(v.getId());
+        stripe.lock();
+        try {
+            super.moveVehicle(v, distance);
+        } finally {
+            stripe.unlock();
+            structure.readLock().unlock();
+        }
+    }
+    @Override
+    public void startAllJourneys(double distance) {
+        structure.readLock().lock();
+        try {
+            super.startAllJourneys(distance);
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    // Fuel and capacity are read without the stripe locks.
+    @Override
+    public List<TripPlan> planTrips(List<TripRequest> trips, int parallelism) throws InterruptedException {
+        structure.readLock().lock();
+        try {
+            return super.planTrips(trips, parallelism);
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    @Override
+    public List<TripPlan> planTrips(List<TripRequest> trips, ExecutorService executor, int parallelism) throws InterruptedException {
+        structure.readLock().lock();
+        try {
+            return super.planTrips(trips, executor, parallelism);
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    @Override
+    public BulkReport boardPassengers(List<Map.Entry<String, Integer>> requests) {
+        structure.readLock().lock();
+        try {
+            return super.boardPassengers(requests);
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    @Override
+    public BulkReport loadCargo(List<Map.Entry<String, Double>> requests) {
+        structure.readLock().lock();
+        try {
+            return super.loadCargo(requests);
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    @Override
+    protected void boardVehicle(PassengerCarrier carrier, int count) throws OverloadException {
+        ReentrantLock stripe = stripeFor(((Vehicle) carrier).getId());
+        stripe.lock();
+        try {
+            super.boardVehicle(carrier, count);
+        } finally {
+            stripe.unlock();
+        }
+    }
+    @Override
+    protected void loadVehicle(CargoCarrier carrier, double weight) throws OverloadException {
+        ReentrantLock stripe = stripeFor(((Vehicle) carrier).getId());
+        stripe.lock();
+        try {
+            super.loadVehicle(carrier, weight);
+        } finally {
+            stripe.unlock();
+        }
+    }
+    // Fleet-wide passes lock one stripe at a time.
+    @Override
+    public double getTotalFuelConsumption(double distance) {
+        structure.readLock().lock();
+        try {
+            double total = 0;
+            for (Vehicle v : vehicles(FuelConsumable.class)) {
+                ReentrantLock stripe = stripeFor(v.getId());
+                stripe.lock();
+                try {
+                    total += ((FuelConsumable) v).consumeFuel(distance);
+                } catch (Exception e) {
+                    System.out.println("Fuel error for " + v.getId() + ": " + e.getMessage());
+                } finally {
+                    stripe.unlock();
+                }
+            }
+            return total;
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    // Membership is held still; like planTrips, levels are read without the stripe locks.
+    @Override
+    public List<FuelProjection> projectFuel(List<FuelScenario> scenarios, ForkJoinPool pool) {
+        structure.readLock().lock();
+        try {
+            return super.projectFuel(scenarios, pool);
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    @Override
+    public void refuelAll(double amount) {
+        structure.readLock().lock();
+        try {
+            for (Vehicle v : vehicles(FuelConsumable.class)) {
+                ReentrantLock stripe = stripeFor(v.getId());
+                stripe.lock();
+                try {
+                    ((FuelConsumable) v).refuel(amount);
+                } catch (Exception e) {
+                    System.out.println("Error refueling " + v.getId() + ": " + e.getMessage());
+                } finally {
+                    stripe.unlock();
+                }
+            }
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    @Override
+    public void maintainAll() {
+        structure.readLock().lock();
+        try {
+            for (Vehicle v : super.getVehiclesNeedingMaintenance()) {
+                Maintainable m = (Maintainable) v;
+                ReentrantLock stripe = stripeFor(v.getId());
+                stripe.lock();
+                try {
+                    if (m.needsMaintenance()) {
+                        m.performMaintenance();
+                    }
+                } finally {
+                    stripe.unlock();
+                }
+            }
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    @Override
+    public List<Vehicle> getVehiclesNeedingMaintenance() {
+        structure.readLock().lock();
+        try {
+            return super.getVehiclesNeedingMaintenance();
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    @Override
+    public List<Vehicle> getVehiclesDueWithin(double km) {
+        structure.readLock().lock();
+        try {
+            return super.getVehiclesDueWithin(km);
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    @Override
+    public double getRemainingKmBeforeMaintenance(String id) {
+        structure.readLock().lock();
+        try {
+            return super.getRemainingKmBeforeMaintenance(id);
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    @Override
+    public void reindexMaintenance() {
+        structure.writeLock().lock();
+        try {
+            super.reindexMaintenance();
+        } finally {
+            structure.writeLock().unlock();
+        }
+    }
+    @Override
+    public List<Vehicle> searchByType(Class<?> type) {
+        structure.readLock().lock();
+        try {
+            return super.searchByType(type);
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    @Override
+    public int countByType(Class<?> type) {
+        structure.readLock().lock();
+        try {
+            return super.countByType(type);
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    @Override
+    public void sortFleetByEfficiency() {
+        structure.writeLock().lock();
+        try {
+            super.sortFleetByEfficiency();
+        } finally {
+            structure.writeLock().unlock();
+        }
+    }
+    @Override
+    public void sortFleetBySpeed() {
+        structure.writeLock().lock();
+        try {
+            super.sortFleetBySpeed();
+        } finally {
+            structure.writeLock().unlock();
+        }
+    }
+    @Override
+    public void sortFleetByModel() {
+        structure.writeLock().lock();
+        try {
+            super.sortFleetByModel();
+        } finally {
+            structure.writeLock().unlock();
+        }
+    }
+    @Override
+    public void setMaintenanceThreshold(Class<? extends Vehicle> type, double km) {
+        structure.writeLock().lock();
+        try {
+            super.setMaintenanceThreshold(type, km);
+        } finally {
+            structure.writeLock().unlock();
+        }
+    }
+    @Override
+    public void resetMaintenanceThreshold(Class<? extends Vehicle> type) {
+        structure.writeLock().lock();
+        try {
+            super.resetMaintenanceThreshold(type);
+        } finally {
+            structure.writeLock().unlock();
+        }
+    }
+    @Override
+    public List<Vehicle> getFleetByEfficiency() {
+        structure.readLock().lock();
+        try {
+            return super.getFleetByEfficiency();
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    @Override
+    public List<Vehicle> getFleetBySpeed() {
+        structure.readLock().lock();
+        try {
+            return super.getFleetBySpeed();
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    @Override
+    public List<Vehicle> getFleetByModel() {
+        structure.readLock().lock();
+        try {
+            return super.getFleetByModel();
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    @Override
+    public List<Vehicle> getFastestVehicles(int k) {
+        structure.readLock().lock();
+        try {
+            return super.getFastestVehicles(k);
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    @Override
+    public List<Vehicle> getMostEfficientVehicles(int k) {
+        structure.readLock().lock();
+        try {
+            return super.getMostEfficientVehicles(k);
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    // A lazy cursor cannot hold the lock between calls, so this one runs the query to completion up front.
+    @Override
+    public FleetCursor query(FleetQuery query) {
+        structure.readLock().lock();
+        try {
+            return super.query(query).detach();
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    @Override
+    public FleetCursor.Page query(FleetQuery query, int pageSize, String continuationToken) {
+        structure.readLock().lock();
+        try {
+            return super.query(query, pageSize, continuationToken);
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    @Override
+    public Vehicle getFastestVehicle() {
+        structure.readLock().lock();
+        try {
+            return super.getFastestVehicle();
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    @Override
+    public Vehicle getSlowestVehicle() {
+        structure.readLock().lock();
+        try {
+            return super.getSlowestVehicle();
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    // Reports read every vehicle's state, so they exclude per-vehicle work to see one consistent instant.
+    @Override
+    public String generateReport() {
+        structure.writeLock().lock();
+        try {
+            return super.generateReport();
+        } finally {
+            structure.writeLock().unlock();
+        }
+    }
+    @Override
+    public List<Vehicle> getFleet() {
+        structure.readLock().lock();
+        try {
+            return Collections.unmodifiableList(new ArrayList<>(vehicles()));
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    @Override
+    public Set<String> getUniqueModels() {
+        structure.readLock().lock();
+        try {
+            return Collections.unmodifiableSet(new HashSet<>(super.getUniqueModels()));
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    @Override
+    public Set<String> getSortedModels() {
+        structure.readLock().lock();
+        try {
+            return Collections.unmodifiableSet(new TreeSet<>(super.getSortedModels()));
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    @Override
+    public int getModelCode(String model) {
+        structure.readLock().lock();
+        try {
+            return super.getModelCode(model);
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    @Override
+    public int countByModel(String model) {
+        structure.readLock().lock();
+        try {
+            return super.countByModel(model);
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+    // Saves hold the lock only while the rows are captured; the file is written after it is released.
+    @Override
+    CsvFleetWriter.Snapshot snapshotCsv() {
+        structure.writeLock().lock();
+        try {
+            return super.snapshotCsv();
+        } finally {
+            structure.writeLock().unlock();
+        }
+    }
+    @Override
+    public long saveSnapshot(String filename) throws FileOperationException {
+        structure.writeLock().lock();
+        try {
+            return super.saveSnapshot(filename);
+        } finally {
+            structure.writeLock().unlock();
+        }
+    }
+    @Override
+    public void saveToStore(MappedVehicleStore store) throws FileOperationException {
+        structure.writeLock().lock();
+        try {
+            super.saveToStore(store);
+        } finally {
+            structure.writeLock().unlock();
+        }
+    }
+    @Override
+    public void openStore(String filename) throws FileOperationException {
+        structure.writeLock().lock();
+        try {
+            super.openStore(filename);
+        } finally {
+            structure.writeLock().unlock();
+        }
+    }
+    @Override
+    public void closeStore() throws FileOperationException {
+        structure.writeLock().lock();
+        try {
+            super.closeStore();
+        } finally {
+            structure.writeLock().unlock();
+        }
+    }
+    @Override
+    public void loadSnapshot(String filename) throws FileOperationException {
+        structure.writeLock().lock();
+        try {
+            super.loadSnapshot(filename);
+        } finally {
+            structure.writeLock().unlock();
+        }
+    }
+    @Override
+    public void enableJournal(String snapshotFile, String journalFile) throws FileOperationException {
+        structure.writeLock().lock();
+        try {
+            super.enableJournal(snapshotFile, journalFile);
+        } finally {
+            structure.writeLock().unlock();
+        }
+    }
+    @Override
+    public void checkpoint() throws FileOperationException {
+        structure.writeLock().lock();
+        try {
+            super.checkpoint();
+        } finally {
+            structure.writeLock().unlock();
+        }
+    }
+    @Override
+    public void closeJournal() throws FileOperationException {
+        structure.writeLock().lock();
+        try {
+            super.closeJournal();
+        } finally {
+            structure.writeLock().unlock();
+        }
+    }
+    @Override
+    public void loadFromFile(String filename, boolean preview) throws FileOperationException {
+        structure.writeLock().lock();
+        try {
+            super.loadFromFile(filename, preview);
+        } finally {
+            structure.writeLock().unlock();
+        }
+    }
+    @Override
+    public void loadFromFileParallel(String filename, ForkJoinPool pool) throws FileOperationException {
+        structure.writeLock().lock();
+        try {
+            super.loadFromFileParallel(filename, pool);
+        } finally {
+            structure.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package Fleet;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+public class CsvFleetReader {
+    public interface RowHandler {
+        void onRow(CsvRow row);
+    }
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+    private final int bufferSize;
+    public CsvFleetReader() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+    public CsvFleetReader(int bufferSize) {
+        this.bufferSize = Math.max(bufferSize, 64);
+    }
+    // Streams the file once, handing each line to the handler as a reusable row; returns the number of lines seen.
+    public long read(Path path, RowHandler handler) throws IOException {
+        CsvRow row = new CsvRow();
+        ByteBuffer buf = ByteBuffer.allocate(bufferSize);
+        long lines = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            int scanFrom = 0;
+            while (true) {
+                int n = channel.read(buf);
+                int limit = buf.position();
+                int lineStart = 0;
+                for (int i = scanFrom; i < limit; i++) {
+                    if (buf.get(i) == '\n') {
+                        row.parse(buf, lineStart, i);
+                        handler.onRow(row);
+                        lines++;
+                        lineStart = i + 1;
+                    }
+                }
+                if (n < 0) {
+                    if (lineStart < limit) {
+                        row.parse(buf, lineStart, limit);
+                        handler.onRow(row);
+                        lines++;
+                    }
+                    return lines;
+                }
+                int remaining = limit - lineStart;
+                if (lineStart == 0 && limit == buf.capacity()) {
+                    ByteBuffer bigger = ByteBuffer.allocate(buf.capacity() * 2);
+                    buf.flip();
+                    bigger.put(buf);
+                    buf = bigger;
+                } else {
+                    buf.limit(limit);
+                    buf.position(lineStart);
+                    buf.compact();
+                }
+                scanFrom = remaining;
+            }
+        }
+    }
+}
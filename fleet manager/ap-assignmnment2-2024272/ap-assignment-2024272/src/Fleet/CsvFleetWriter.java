@@ -0,0 +1,257 @@
+package Fleet;
+import Vehicles.Car;
+import Vehicles.Vehicle;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Locale;
+// Encoded rows are cached per handle and replaced, never modified, so a snapshot can share them.
+class CsvFleetWriter {
+    static final String HEADER = "type,id,model,maxSpeed,efficiency,fuelLevel,currentPassengers,maintenanceNeeded,currentMileage";
+    static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    private static final byte[] NEWLINE = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEADER_LINE = (HEADER + System.lineSeparator()).getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+    private static final long[] POW10 = {1L, 10L, 100L, 1000L, 10000L};
+    private static final String[] FORMATS = {"%.0f", "%.1f", "%.2f", "%.3f", "%.4f"};
+    // Below this the scaled value is exact to well under TIE_WINDOW, so rounding it directly matches Formatter.
+    private static final double FAST_LIMIT = 1e8;
+    private static final double TIE_WINDOW = 1e-3;
+    // The fleet's rows at one point in time; writing it needs no access to the fleet.
+    static final class Snapshot {
+        private final byte[][] rows;
+        private final int count;
+        private final long bytes;
+        private final int encoded;
+        private final int bufferSize;
+        private Snapshot(byte[][] rows, int count, long bytes, int encoded, int bufferSize) {
+            this.rows = rows;
+            this.count = count;
+            this.bytes = bytes;
+            this.encoded = encoded;
+            this.bufferSize = bufferSize;
+        }
+        int getRowCount() {
+            return count;
+        }
+        // Rows that had to be encoded for this snapshot; the rest came from the cache.
+        int getEncodedRows() {
+            return encoded;
+        }
+        // Writes through a temporary file renamed over the target; returns the bytes written.
+        long writeTo(Path target) throws IOException {
+            Path dir = target.toAbsolutePath().getParent();
+            // Created like any other output file (createTempFile would make it owner-only).
+            Path temp = dir.resolve(target.getFileName() + "." + Long.toHexString(System.nanoTime()) + ".tmp");
+            try {
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                    ByteBuffer out = ByteBuffer.allocate(bufferSize);
+                    copy(channel, out, HEADER_LINE);
+                    for (int i = 0; i < count; i++) copy(channel, out, rows[i]);
+                    drain(channel, out);
+                    channel.force(false);
+                }
+                try {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+            return bytes;
+        }
+    }
+    private final int bufferSize;
+    private Vehicle[] owners = new Vehicle[64];
+    private int[] versions = new int[64];
+    private byte[][] rows = new byte[64][];
+    private int policyVersion = -1;
+    private byte[] row = new byte[128];
+    private int length;
+    CsvFleetWriter() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+    CsvFleetWriter(int bufferSize) {
+        this.bufferSize = Math.max(bufferSize, 256);
+    }
+    // The fleet must not change while this runs; the snapshot it returns is independent of it.
+    Snapshot snapshot(VehicleRegistry registry, int policy) {
+        if (registry.handleLimit() > owners.length) grow(registry.handleLimit());
+        boolean policyChanged = policy != policyVersion;
+        policyVersion = policy;
+        byte[][] order = new byte[registry.size()][];
+        int count = 0;
+        int encoded = 0;
+        long bytes = HEADER_LINE.length;
+        for (int h = registry.firstHandle(); h != -1; h = registry.nextHandle(h)) {
+            Vehicle v = registry.byHandle(h);
+            if (owners[h] != v || versions[h] != v.getVersion() || (policyChanged && v instanceof Car)) {
+                encode(h, v);
+                encoded++;
+            }
+            order[count++] = rows[h];
+            bytes += rows[h].length;
+        }
+        // Let go of vehicles whose handles were freed since the last snapshot.
+        for (int h = 0; h < owners.length; h++) {
+            if (owners[h] != null && registry.byHandle(h) != owners[h]) {
+                owners[h] = null;
+                rows[h] = null;
+            }
+        }
+        return new Snapshot(order, count, bytes, encoded, bufferSize);
+    }
+    private void encode(int h, Vehicle v) {
+        // Read the version first so a change racing the encode leaves the row marked stale.
+        int version = v.getVersion();
+        length = 0;
+        putText(v.getClass().getSimpleName());
+        putByte(',');
+        putText(v.getId());
+        putByte(',');
+        putByte('"');
+        String model = v.getModel();
+        if (model != null) {
+            for (int i = 0; i < model.length(); i++) {
+                char c = model.charAt(i);
+                if (c == '"') putByte('"');
+                putChar(model, i);
+                if (Character.isHighSurrogate(c) && i + 1 < model.length() && Character.isLowSurrogate(model.charAt(i + 1))) i++;
+            }
+        }
+        putByte('"');
+        putByte(',');
+        putFixed(v.getMaxSpeed(), 2);
+        putByte(',');
+        putFixed(v.calculateFuelEfficiency(), 4);
+        if (v instanceof Car) {
+            Car car = (Car) v;
+            putByte(',');
+            putFixed(car.getFuelLevel(), 4);
+            putByte(',');
+            putLong(car.getCurrentPassengers());
+            putByte(',');
+            putBytes(car.needsMaintenance() ? TRUE : FALSE);
+            putByte(',');
+        } else {
+            putByte(',');
+            putByte(',');
+            putByte(',');
+            putByte(',');
+        }
+        putFixed(v.getCurrentMileage(), 4);
+        putBytes(NEWLINE);
+        // A fresh array every time: the old one may belong to a snapshot that is still being written.
+        rows[h] = Arrays.copyOf(row, length);
+        owners[h] = v;
+        versions[h] = version;
+    }
+    private static void copy(FileChannel channel, ByteBuffer out, byte[] bytes) throws IOException {
+        for (int offset = 0; offset < bytes.length; ) {
+            if (!out.hasRemaining()) drain(channel, out);
+            int n = Math.min(out.remaining(), bytes.length - offset);
+            out.put(bytes, offset, n);
+            offset += n;
+        }
+    }
+    private static void drain(FileChannel channel, ByteBuffer out) throws IOException {
+        out.flip();
+        while (out.hasRemaining()) channel.write(out);
+        out.clear();
+    }
+    // Formatter rounds HALF_UP, so values that land near a tie are left to String.format.
+    private void putFixed(double x, int digits) {
+        if (x < FAST_LIMIT && Double.doubleToRawLongBits(x) >= 0) {
+            double scaled = x * POW10[digits];
+            long floor = (long) scaled;
+            double fraction = scaled - floor;
+            if (Math.abs(fraction - 0.5) > TIE_WINDOW) {
+                long rounded = fraction > 0.5 ? floor + 1 : floor;
+                putLong(rounded / POW10[digits]);
+                if (digits > 0) {
+                    putByte('.');
+                    long rest = rounded % POW10[digits];
+                    for (long p = POW10[digits - 1]; p > 0; p /= 10) {
+                        putByte((char) ('0' + rest / p));
+                        rest %= p;
+                    }
+                }
+                return;
+            }
+        }
+        putText(String.format(Locale.ROOT, FORMATS[digits], x));
+    }
+    private void putLong(long n) {
+        if (n < 0) {
+            putByte('-');
+            if (n == Long.MIN_VALUE) {
+                putText("9223372036854775808");
+                return;
+            }
+            n = -n;
+        }
+        int start = length;
+        do {
+            putByte((char) ('0' + n % 10));
+            n /= 10;
+        } while (n > 0);
+        for (int i = start, j = length - 1; i < j; i++, j--) {
+            byte t = row[i];
+            row[i] = row[j];
+            row[j] = t;
+        }
+    }
+    private void putText(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            putChar(s, i);
+            if (Character.isHighSurrogate(s.charAt(i)) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) i++;
+        }
+    }
+    // A lone surrogate becomes '?', as in String.getBytes.
+    private void putChar(String s, int i) {
+        char c = s.charAt(i);
+        if (c < 0x80) {
+            putByte(c);
+        } else if (c < 0x800) {
+            putByte((char) (0xC0 | c >> 6));
+            putByte((char) (0x80 | c & 0x3F));
+        } else if (Character.isSurrogate(c)) {
+            if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(i + 1));
+                putByte((char) (0xF0 | cp >> 18));
+                putByte((char) (0x80 | cp >> 12 & 0x3F));
+                putByte((char) (0x80 | cp >> 6 & 0x3F));
+                putByte((char) (0x80 | cp & 0x3F));
+            } else {
+                putByte('?');
+            }
+        } else {
+            putByte((char) (0xE0 | c >> 12));
+            putByte((char) (0x80 | c >> 6 & 0x3F));
+            putByte((char) (0x80 | c & 0x3F));
+        }
+    }
+    private void putBytes(byte[] bytes) {
+        for (byte b : bytes) putByte((char) b);
+    }
+    private void putByte(char b) {
+        if (length == row.length) row = Arrays.copyOf(row, row.length * 2);
+        row[length++] = (byte) b;
+    }
+    private void grow(int capacity) {
+        int n = Math.max(capacity, owners.length * 2);
+        owners = Arrays.copyOf(owners, n);
+        versions = Arrays.copyOf(versions, n);
+        rows = Arrays.copyOf(rows, n);
+    }
+}
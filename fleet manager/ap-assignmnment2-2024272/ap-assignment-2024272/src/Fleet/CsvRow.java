@@ -0,0 +1,208 @@
+package Fleet;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+public class CsvRow {
+    private static final double[] POW10 = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+        1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private ByteBuffer buf;
+    private int lineStart;
+    private int lineEnd;
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private int count;
+    private final Field field = new Field();
+    // A view over the field's bytes that follows the row, so it must not be kept.
+    private final class Field implements CharSequence {
+        private int start;
+        private int end;
+        @Override
+        public int length() {
+            return end - start;
+        }
+        @Override
+        public char charAt(int index) {
+            return (char) (buf.get(start + index) & 0xFF);
+        }
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            return toString().subSequence(from, to);
+        }
+        @Override
+        public String toString() {
+            return decode(start, end);
+        }
+    }
+    public void parse(ByteBuffer buf, int start, int end) {
+        this.buf = buf;
+        while (start < end && isSpace(buf.get(start))) start++;
+        while (end > start && isSpace(buf.get(end - 1))) end--;
+        this.lineStart = start;
+        this.lineEnd = end;
+        this.count = 0;
+        boolean inQuotes = false;
+        int fieldStart = start;
+        for (int i = start; i < end; i++) {
+            byte c = buf.get(i);
+            if (c == '"') {
+                inQuotes = !inQuotes;
+            } else if (c == ',' && !inQuotes) {
+                addField(fieldStart, i);
+                fieldStart = i + 1;
+            }
+        }
+        addField(fieldStart, end);
+    }
+    private void addField(int start, int end) {
+        if (count == starts.length) {
+            starts = Arrays.copyOf(starts, count * 2);
+            ends = Arrays.copyOf(ends, count * 2);
+        }
+        while (start < end && isSpace(buf.get(start))) start++;
+        while (end > start && isSpace(buf.get(end - 1))) end--;
+        starts[count] = start;
+        ends[count] = end;
+        count++;
+    }
+    private static boolean isSpace(byte c) {
+        return c == ' ' || c == '\t' || c == '\r' || c == '\n';
+    }
+    public boolean isBlank() {
+        return lineStart == lineEnd;
+    }
+    public int fieldCount() {
+        return count;
+    }
+    public boolean isEmpty(int i) {
+        return starts[i] == ends[i];
+    }
+    public boolean matches(int i, String ascii) {
+        int len = ends[i] - starts[i];
+        if (len != ascii.length()) return false;
+        for (int k = 0; k < len; k++) {
+            if (buf.get(starts[i] + k) != ascii.charAt(k)) return false;
+        }
+        return true;
+    }
+    public boolean matchesIgnoreCase(int i, String ascii) {
+        int len = ends[i] - starts[i];
+        if (len != ascii.length()) return false;
+        for (int k = 0; k < len; k++) {
+            int c = buf.get(starts[i] + k);
+            if (Character.toLowerCase(c) != Character.toLowerCase(ascii.charAt(k))) return false;
+        }
+        return true;
+    }
+    public String match(int i, String[] candidates) {
+        for (String candidate : candidates) {
+            if (matches(i, candidate)) return candidate;
+        }
+        return null;
+    }
+    public boolean startsWithIgnoreCase(String ascii) {
+        if (lineEnd - lineStart < ascii.length()) return false;
+        for (int k = 0; k < ascii.length(); k++) {
+            int c = buf.get(lineStart + k);
+            if (Character.toLowerCase(c) != ascii.charAt(k)) return false;
+        }
+        return true;
+    }
+    public CharSequence field(int i) {
+        field.start = starts[i];
+        field.end = ends[i];
+        return field;
+    }
+    public String text(int i) {
+        int start = starts[i];
+        int end = ends[i];
+        boolean quoted = end - start >= 2 && buf.get(start) == '"' && buf.get(end - 1) == '"';
+        if (quoted) {
+            start++;
+            end--;
+        }
+        String s = decode(start, end);
+        return quoted ? s.replace("\"\"", "\"") : s;
+    }
+    public String line() {
+        return decode(lineStart, lineEnd);
+    }
+    private String decode(int start, int end) {
+        byte[] bytes = new byte[end - start];
+        for (int k = 0; k < bytes.length; k++) {
+            bytes[k] = buf.get(start + k);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    public double parseDouble(int i, double defaultValue) {
+        int pos = starts[i];
+        int end = ends[i];
+        if (pos == end) return defaultValue;
+        boolean negative = false;
+        byte c = buf.get(pos);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            pos++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean seenDot = false;
+        boolean seenDigit = false;
+        for (; pos < end; pos++) {
+            c = buf.get(pos);
+            if (c >= '0' && c <= '9') {
+                seenDigit = true;
+                if (digits < 18) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (mantissa != 0) digits++;
+                    if (seenDot) scale++;
+                } else {
+                    return parseDoubleSlow(i, defaultValue);
+                }
+            } else if (c == '.' && !seenDot) {
+                seenDot = true;
+            } else {
+                return parseDoubleSlow(i, defaultValue);
+            }
+        }
+        if (!seenDigit || mantissa >= (1L << 53) || scale >= POW10.length) {
+            return parseDoubleSlow(i, defaultValue);
+        }
+        double value = mantissa / POW10[scale];
+        return negative ? -value : value;
+    }
+    private double parseDoubleSlow(int i, double defaultValue) {
+        try {
+            return Double.parseDouble(text(i));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+    public int parseInt(int i, int defaultValue) {
+        int pos = starts[i];
+        int end = ends[i];
+        if (pos == end) return defaultValue;
+        boolean negative = false;
+        byte c = buf.get(pos);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            pos++;
+            if (pos == end) return defaultValue;
+        }
+        long value = 0;
+        for (; pos < end; pos++) {
+            c = buf.get(pos);
+            if (c < '0' || c > '9') return defaultValue;
+            value = value * 10 + (c - '0');
+            if (value > (long) Integer.MAX_VALUE + 1) return defaultValue;
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) return defaultValue;
+        return (int) value;
+    }
+    public boolean parseBoolean(int i) {
+        return matchesIgnoreCase(i, "true");
+    }
+}
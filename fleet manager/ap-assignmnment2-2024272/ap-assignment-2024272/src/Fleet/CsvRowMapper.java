@@ -0,0 +1,62 @@
+package Fleet;
+import Events.EventType;
+import Events.FleetEvents;
+import Exceptions.InvalidOperationException;
+import Vehicles.Vehicle;
+import Vehicles.VehicleBuilder;
+import Vehicles.VehicleType;
+import Vehicles.VehicleTypes;
+public class CsvRowMapper {
+    public static class ParsedRow {
+        public final Vehicle vehicle;
+        public final String error;
+        private final boolean restored;
+        private final boolean maintenance;
+        private ParsedRow(Vehicle vehicle, String error, boolean restored, boolean maintenance) {
+            this.vehicle = vehicle;
+            this.error = error;
+            this.restored = restored;
+            this.maintenance = maintenance;
+        }
+        // Called by the thread merging rows into the fleet, so parallel loads still report in file order.
+        public void publishLoaded() {
+            if (restored) FleetEvents.publish(EventType.LOADED, vehicle, maintenance ? 1.0 : 0.0, 0.0);
+        }
+    }
+    // Returns null for rows that carry no vehicle (header, blank lines).
+    public static ParsedRow parse(CsvRow row, boolean firstLine) {
+        if (firstLine && row.startsWithIgnoreCase("type,")) return null;
+        if (row.isBlank()) return null;
+        if (row.fieldCount() < 5) {
+            return new ParsedRow(null, "Skipping malformed line (not enough columns): " + row.line(), false, false);
+        }
+        try {
+            Vehicle v = vehicleFromRow(row);
+            boolean restored = row.fieldCount() >= 9;
+            return new ParsedRow(v, null, restored, restored && row.parseBoolean(7));
+        } catch (Exception ex) {
+            return new ParsedRow(null, "Error parsing line: " + row.line() + " (" + ex.getMessage() + ")", false, false);
+        }
+    }
+    // One builder per loading thread, refilled for every row.
+    private static final ThreadLocal<VehicleBuilder> builders = ThreadLocal.withInitial(VehicleBuilder::new);
+    public static Vehicle vehicleFromRow(CsvRow row) throws InvalidOperationException {
+        VehicleType type = VehicleTypes.byName(row.field(0));
+        if (type == null) {
+            throw new InvalidOperationException("Unknown vehicle type: " + row.text(0));
+        }
+        VehicleBuilder b = builders.get().reset()
+                .id(row.text(1))
+                .model(row.text(2))
+                .maxSpeed(row.parseDouble(3, 0.0));
+        // Only Car rows carry fuel, passengers, the maintenance flag and mileage.
+        boolean restored = row.fieldCount() >= 9;
+        if (restored) {
+            b.fuel(row.parseDouble(5, 0.0))
+             .passengers(row.parseInt(6, 0))
+             .maintenance(row.parseBoolean(7))
+             .mileage(Math.max(row.parseDouble(8, 0.0), 0.0));
+        }
+        return type.build(b);
+    }
+}
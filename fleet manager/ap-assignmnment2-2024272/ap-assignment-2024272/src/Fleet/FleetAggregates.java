@@ -0,0 +1,117 @@
+package Fleet;
+import Vehicles.Vehicle;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.DoubleAdder;
+// Running totals behind generateReport; per-vehicle callbacks may arrive concurrently for different vehicles.
+public class FleetAggregates {
+    private static final double TOLERANCE = 1e-6;
+    private double[] efficiency = new double[16];
+    private boolean[] tracked = new boolean[16];
+    private int trackedCount;
+    private final Map<Class<?>, int[]> classCounts = new HashMap<>();
+    private final DoubleAdder totalMileage = new DoubleAdder();
+    private final DoubleAdder efficiencySum = new DoubleAdder();
+    private final AtomicInteger efficiencyCount = new AtomicInteger();
+    void add(int handle, Vehicle v) {
+        if (handle >= tracked.length) grow(handle + 1);
+        tracked[handle] = true;
+        efficiency[handle] = 0.0;
+        trackedCount++;
+        classCounts.computeIfAbsent(v.getClass(), c -> new int[1])[0]++;
+        totalMileage.add(v.getCurrentMileage());
+        setEfficiency(handle, v.calculateFuelEfficiency());
+    }
+    void remove(int handle, Vehicle v) {
+        if (handle >= tracked.length || !tracked[handle]) return;
+        int[] count = classCounts.get(v.getClass());
+        if (--count[0] == 0) classCounts.remove(v.getClass());
+        totalMileage.add(-v.getCurrentMileage());
+        setEfficiency(handle, 0.0);
+        tracked[handle] = false;
+        trackedCount--;
+    }
+    void mileageChanged(int handle, Vehicle v, double oldMileage, double newMileage) {
+        totalMileage.add(newMileage - oldMileage);
+        refresh(handle, v);
+    }
+    // Cargo and passenger changes can move a vehicle's efficiency.
+    void refresh(int handle, Vehicle v) {
+        if (handle >= tracked.length || !tracked[handle]) return;
+        setEfficiency(handle, v.calculateFuelEfficiency());
+    }
+    void clear() {
+        Arrays.fill(tracked, false);
+        trackedCount = 0;
+        classCounts.clear();
+        totalMileage.reset();
+        efficiencySum.reset();
+        efficiencyCount.set(0);
+    }
+    private void setEfficiency(int handle, double value) {
+        double old = efficiency[handle];
+        if (value == old) return;
+        if (old > 0) {
+            efficiencySum.add(-old);
+            efficiencyCount.decrementAndGet();
+        }
+        if (value > 0) {
+            efficiencySum.add(value);
+            efficiencyCount.incrementAndGet();
+        }
+        efficiency[handle] = value;
+    }
+    private void grow(int minCapacity) {
+        int capacity = Math.max(minCapacity, tracked.length * 2);
+        efficiency = Arrays.copyOf(efficiency, capacity);
+        tracked = Arrays.copyOf(tracked, capacity);
+    }
+    private static String typeOf(Vehicle v) {
+        return v.getClass().getSimpleName();
+    }
+    // Counts by simple class name, built when asked for rather than kept up to date on every change.
+    public Map<String, Integer> getTypeCounts() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (Map.Entry<Class<?>, int[]> e : classCounts.entrySet()) {
+            counts.merge(e.getKey().getSimpleName(), e.getValue()[0], Integer::sum);
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+    public double getTotalMileage() {
+        return totalMileage.sum();
+    }
+    public int getEfficiencyCount() {
+        return efficiencyCount.get();
+    }
+    public double getEfficiencySum() {
+        return efficiencySum.sum();
+    }
+    // Recomputes everything from scratch and lists each aggregate that disagrees with the running value.
+    public List<String> verify(Collection<Vehicle> vehicles) {
+        Map<String, Integer> types = new HashMap<>();
+        double mileage = 0;
+        double efficiency = 0;
+        int efficient = 0;
+        for (Vehicle v : vehicles) {
+            types.merge(typeOf(v), 1, Integer::sum);
+            mileage += v.getCurrentMileage();
+            double eff = v.calculateFuelEfficiency();
+            if (eff > 0) {
+                efficiency += eff;
+                efficient++;
+            }
+        }
+        List<String> mismatches = new ArrayList<>();
+        Map<String, Integer> typeCounts = getTypeCounts();
+        if (!types.equals(typeCounts)) mismatches.add("type counts " + typeCounts + " != " + types);
+        if (!close(mileage, getTotalMileage())) mismatches.add("total mileage " + getTotalMileage() + " != " + mileage);
+        if (efficient != getEfficiencyCount() || !close(efficiency, getEfficiencySum())) {
+            mismatches.add("efficiency " + getEfficiencySum() + "/" + getEfficiencyCount() + " != " + efficiency + "/" + efficient);
+        }
+        if (trackedCount != vehicles.size()) mismatches.add("tracked vehicles " + trackedCount + " != " + vehicles.size());
+        return mismatches;
+    }
+    private static boolean close(double expected, double actual) {
+        return Math.abs(expected - actual) <= TOLERANCE * Math.max(1.0, Math.abs(expected));
+    }
+}
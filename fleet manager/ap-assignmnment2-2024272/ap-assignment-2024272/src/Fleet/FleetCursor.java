@@ -0,0 +1,110 @@
+package Fleet;
+import Vehicles.Vehicle;
+import java.util.*;
+// Lazily filters a query's candidates; drain it before the fleet changes, or resume from a page token.
+public class FleetCursor implements Iterator<Vehicle> {
+    public static class Page {
+        private final List<Vehicle> items;
+        private final String continuationToken;
+        public Page(List<Vehicle> items, String continuationToken) {
+            this.items = items;
+            this.continuationToken = continuationToken;
+        }
+        public List<Vehicle> getItems() {
+            return items;
+        }
+        // Null on the last page.
+        public String getContinuationToken() {
+            return continuationToken;
+        }
+        public boolean hasMore() {
+            return continuationToken != null;
+        }
+    }
+    private final FleetQuery query;
+    private final FleetQuery.Source source;
+    private final Iterator<Vehicle> candidates;
+    private Vehicle next;
+    private Vehicle last;
+    private int position;
+    // Starts just after the place the mark names, or at the first candidate for a null mark.
+    FleetCursor(FleetQuery query, FleetQuery.Source source, String mark) {
+        this.query = query;
+        this.source = source;
+        this.candidates = source.iterator(mark);
+    }
+    @Override
+    public boolean hasNext() {
+        while (next == null && candidates.hasNext()) {
+            Vehicle v = candidates.next();
+            if (query.matches(v)) next = v;
+        }
+        return next != null;
+    }
+    @Override
+    public Vehicle next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        Vehicle v = next;
+        next = null;
+        last = v;
+        position++;
+        return v;
+    }
+    // Matches returned or skipped so far.
+    public int getPosition() {
+        return position;
+    }
+    public int skip(int count) {
+        int skipped = 0;
+        while (skipped < count && hasNext()) {
+            next();
+            skipped++;
+        }
+        return skipped;
+    }
+    public Page nextPage(int size) {
+        if (size <= 0) throw new IllegalArgumentException("Page size must be positive");
+        List<Vehicle> items = new ArrayList<>(Math.min(size, 64));
+        while (items.size() < size && hasNext()) {
+            items.add(next());
+        }
+        return new Page(Collections.unmodifiableList(items), hasNext() ? token(query, source.markAfter(last)) : null);
+    }
+    // Runs the rest of the query now, so the returned cursor no longer reads the fleet.
+    FleetCursor detach() {
+        List<Vehicle> matches = new ArrayList<>();
+        Map<Vehicle, String> marks = new IdentityHashMap<>();
+        while (hasNext()) {
+            Vehicle v = next();
+            matches.add(v);
+            marks.put(v, source.markAfter(v));
+        }
+        return new FleetCursor(query, new FleetQuery.Source() {
+            @Override
+            Iterator<Vehicle> iterator(String mark) {
+                return matches.iterator();
+            }
+            @Override
+            String markAfter(Vehicle v) {
+                return marks.get(v);
+            }
+        }, null);
+    }
+    // Tokens are opaque to callers: the query they belong to and the source's mark for the last match.
+    static String token(FleetQuery query, String mark) {
+        return Integer.toHexString(query.toString().hashCode()) + ":" + mark;
+    }
+    // Null for a null token.
+    static String markOf(FleetQuery query, String token) {
+        if (token == null) return null;
+        int colon = token.indexOf(':');
+        String expected = Integer.toHexString(query.toString().hashCode());
+        if (colon < 0 || !token.substring(0, colon).equals(expected)) {
+            throw new IllegalArgumentException("Continuation token does not belong to this query: " + token);
+        }
+        if (colon == token.length() - 1) {
+            throw new IllegalArgumentException("Malformed continuation token: " + token);
+        }
+        return token.substring(colon + 1);
+    }
+}
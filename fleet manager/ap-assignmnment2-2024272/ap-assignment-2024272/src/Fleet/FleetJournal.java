@@ -0,0 +1,331 @@
+package Fleet;
+import Exceptions.FileOperationException;
+import Exceptions.InvalidOperationException;
+import Interfaces.CargoCarrier;
+import Interfaces.FuelConsumable;
+import Interfaces.Maintainable;
+import Interfaces.PassengerCarrier;
+import Vehicles.Car;
+import Vehicles.Vehicle;
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+public class FleetJournal implements FleetObserver {
+    public static final int MAGIC = 0x464C544A; // "FLTJ"
+    public static final int VERSION = 1;
+    public static final int DEFAULT_BATCH_RECORDS = 256;
+    public static final long DEFAULT_FLUSH_MILLIS = 50;
+    public static final long DEFAULT_COMPACT_BYTES = 64L << 20;
+    private static final int HEADER_SIZE = 6;
+    private static final int FRAME_SIZE = 8;
+    private static final byte OP_ADD = 1;
+    private static final byte OP_REMOVE = 2;
+    private static final byte OP_MILEAGE = 3;
+    private static final byte OP_FUEL = 4;
+    private static final byte OP_CARGO = 5;
+    private static final byte OP_PASSENGERS = 6;
+    private static final byte OP_MAINTENANCE = 7;
+    private static final byte OP_SERVICE_MILEAGE = 8;
+    private final FleetManager manager;
+    private final File snapshotFile;
+    private final File journalFile;
+    private final int batchRecords;
+    private final long compactBytes;
+    private final FileChannel channel;
+    private final ScheduledExecutorService flusher;
+    private final Scratch scratch = new Scratch();
+    private final DataOutputStream record = new DataOutputStream(scratch);
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer pending = ByteBuffer.allocate(64 * 1024);
+    private int pendingRecords;
+    private long journalBytes;
+    private IOException failure;
+    private boolean closed;
+    private static class Scratch extends ByteArrayOutputStream {
+        byte[] buffer() {
+            return buf;
+        }
+    }
+    private FleetJournal(FleetManager manager, File snapshotFile, File journalFile, FileChannel channel,
+                         int batchRecords, long flushMillis, long compactBytes) {
+        this.manager = manager;
+        this.snapshotFile = snapshotFile;
+        this.journalFile = journalFile;
+        this.channel = channel;
+        this.batchRecords = Math.max(batchRecords, 1);
+        this.compactBytes = compactBytes;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "fleet-journal-flusher");
+            t.setDaemon(true);
+            return t;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+    public static FleetJournal open(FleetManager manager, File snapshotFile, File journalFile) throws FileOperationException {
+        return open(manager, snapshotFile, journalFile, DEFAULT_BATCH_RECORDS, DEFAULT_FLUSH_MILLIS, DEFAULT_COMPACT_BYTES);
+    }
+    // Opens the journal and immediately checkpoints the manager's current fleet, leaving an empty log.
+    public static FleetJournal open(FleetManager manager, File snapshotFile, File journalFile,
+                                    int batchRecords, long flushMillis, long compactBytes) throws FileOperationException {
+        File parent = journalFile.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new FileOperationException("Unable to create directory: " + parent.getAbsolutePath());
+        }
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(journalFile.toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new FileOperationException("Error opening journal: " + e.getMessage(), e);
+        }
+        FleetJournal journal = new FleetJournal(manager, snapshotFile, journalFile, channel, batchRecords, flushMillis, compactBytes);
+        try {
+            journal.checkpoint();
+        } catch (FileOperationException e) {
+            journal.flusher.shutdownNow();
+            try { channel.close(); } catch (IOException ignored) {}
+            throw e;
+        }
+        return journal;
+    }
+    // Loads the last snapshot and replays every intact journal record on top of it, in order.
+    public static List<Vehicle> recover(File snapshotFile, File journalFile) throws FileOperationException {
+        Map<String, Vehicle> state = new LinkedHashMap<>();
+        if (snapshotFile.exists()) {
+            for (Vehicle v : FleetSnapshot.read(snapshotFile)) {
+                state.put(v.getId(), v);
+            }
+        }
+        if (!journalFile.exists() || journalFile.length() < HEADER_SIZE) {
+            return new ArrayList<>(state.values());
+        }
+        try (FileChannel channel = FileChannel.open(journalFile.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new FileOperationException("Journal too large to replay: " + journalFile.getPath());
+            }
+            ByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (in.getInt() != MAGIC || in.getShort() != VERSION) {
+                throw new FileOperationException("Not a fleet journal: " + journalFile.getPath());
+            }
+            CRC32 crc = new CRC32();
+            while (in.remaining() >= FRAME_SIZE) {
+                int length = in.getInt();
+                int checksum = in.getInt();
+                if (length <= 0 || length > in.remaining()) break;
+                ByteBuffer payload = in.slice();
+                payload.limit(length);
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != checksum) break;
+                replay(payload, state);
+                in.position(in.position() + length);
+            }
+        } catch (InvalidOperationException | BufferUnderflowException | IllegalArgumentException e) {
+            throw new FileOperationException("Corrupt journal " + journalFile.getPath() + ": " + e.getMessage(), e);
+        } catch (IOException e) {
+            throw new FileOperationException("Error reading journal: " + e.getMessage(), e);
+        }
+        return new ArrayList<>(state.values());
+    }
+    private static void replay(ByteBuffer in, Map<String, Vehicle> state) throws InvalidOperationException {
+        byte op = in.get();
+        if (op == OP_ADD) {
+            Vehicle v = FleetSnapshot.readVehicle(in, null);
+            state.put(v.getId(), v);
+            return;
+        }
+        String id = FleetSnapshot.readString(in);
+        Vehicle v = op == OP_REMOVE ? state.remove(id) : state.get(id);
+        if (v == null) return;
+        switch (op) {
+            case OP_REMOVE:
+                break;
+            case OP_MILEAGE:
+                v.setCurrentMileage(in.getDouble());
+                break;
+            case OP_FUEL:
+                if (v instanceof FuelConsumable) ((FuelConsumable) v).setFuelLevel(in.getDouble());
+                break;
+            case OP_CARGO:
+                if (v instanceof CargoCarrier) ((CargoCarrier) v).setCurrentCargo(in.getDouble());
+                break;
+            case OP_PASSENGERS:
+                if (v instanceof PassengerCarrier) ((PassengerCarrier) v).setCurrentPassengers(in.getInt());
+                break;
+            case OP_MAINTENANCE:
+                if (v instanceof Maintainable) ((Maintainable) v).setMaintenanceScheduled(in.get() != 0);
+                break;
+            case OP_SERVICE_MILEAGE:
+                if (v instanceof Car) ((Car) v).setLastServiceMileage(in.getDouble());
+                break;
+            default:
+                throw new InvalidOperationException("Unknown journal op " + op + " for vehicle " + id);
+        }
+    }
+    @Override
+    public synchronized void onVehicleAdded(Vehicle v) {
+        try {
+            begin(OP_ADD);
+            FleetSnapshot.writeVehicle(record, v, null);
+            commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    @Override
+    public synchronized void onVehicleRemoved(Vehicle v) {
+        beginFor(OP_REMOVE, v);
+        commit();
+    }
+    @Override
+    public void onMileageChanged(Vehicle v, double oldMileage, double newMileage) {
+        appendDouble(OP_MILEAGE, v, newMileage);
+    }
+    @Override
+    public void onFuelChanged(Vehicle v, double oldLevel, double newLevel) {
+        appendDouble(OP_FUEL, v, newLevel);
+    }
+    @Override
+    public void onCargoChanged(Vehicle v, double oldCargo, double newCargo) {
+        appendDouble(OP_CARGO, v, newCargo);
+    }
+    @Override
+    public synchronized void onPassengersChanged(Vehicle v, int oldCount, int newCount) {
+        try {
+            beginFor(OP_PASSENGERS, v);
+            record.writeInt(newCount);
+            commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    @Override
+    public synchronized void onMaintenanceChanged(Vehicle v, boolean oldScheduled, boolean newScheduled) {
+        try {
+            beginFor(OP_MAINTENANCE, v);
+            record.writeBoolean(newScheduled);
+            commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    @Override
+    public void onServiceMileageChanged(Vehicle v, double oldMileage, double newMileage) {
+        appendDouble(OP_SERVICE_MILEAGE, v, newMileage);
+    }
+    private synchronized void appendDouble(byte op, Vehicle v, double value) {
+        try {
+            beginFor(op, v);
+            record.writeDouble(value);
+            commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    private void begin(byte op) throws IOException {
+        if (closed) throw new IOException("Journal is closed");
+        if (failure != null) throw new IOException("Journal flush failed earlier", failure);
+        scratch.reset();
+        record.writeByte(op);
+    }
+    private void beginFor(byte op, Vehicle v) {
+        try {
+            begin(op);
+            FleetSnapshot.writeString(record, v.getId());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    private void commit() {
+        int length = scratch.size();
+        crc.reset();
+        crc.update(scratch.buffer(), 0, length);
+        if (pending.remaining() < length + FRAME_SIZE) {
+            ByteBuffer bigger = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + length + FRAME_SIZE));
+            pending.flip();
+            bigger.put(pending);
+            pending = bigger;
+        }
+        pending.putInt(length).putInt((int) crc.getValue()).put(scratch.buffer(), 0, length);
+        pendingRecords++;
+        journalBytes += length + FRAME_SIZE;
+        try {
+            if (pendingRecords >= batchRecords) flushPending();
+            if (journalBytes >= compactBytes) compact();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    // Group commit: everything buffered since the last flush goes out in one write and one fsync.
+    private void flushPending() throws IOException {
+        if (pendingRecords == 0) return;
+        pending.flip();
+        while (pending.hasRemaining()) {
+            channel.write(pending);
+        }
+        pending.clear();
+        channel.force(false);
+        pendingRecords = 0;
+    }
+    private synchronized void flushQuietly() {
+        if (closed || failure != null) return;
+        try {
+            flushPending();
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+    public synchronized void sync() throws FileOperationException {
+        try {
+            if (failure != null) throw failure;
+            flushPending();
+        } catch (IOException e) {
+            throw new FileOperationException("Error flushing journal: " + e.getMessage(), e);
+        }
+    }
+    public synchronized void checkpoint() throws FileOperationException {
+        try {
+            compact();
+        } catch (IOException e) {
+            throw new FileOperationException("Error compacting journal: " + e.getMessage(), e);
+        }
+    }
+    // The snapshot is swapped in atomically before the log is truncated.
+    private void compact() throws IOException {
+        flushPending();
+        try {
+            FleetSnapshot.write(manager.getFleet(), snapshotFile);
+        } catch (FileOperationException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        channel.truncate(0);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putShort((short) VERSION).flip();
+        channel.write(header, 0);
+        channel.position(HEADER_SIZE);
+        channel.force(true);
+        journalBytes = HEADER_SIZE;
+    }
+    public File getJournalFile() {
+        return journalFile;
+    }
+    public synchronized void close() throws FileOperationException {
+        if (closed) return;
+        flusher.shutdown();
+        try {
+            flushPending();
+        } catch (IOException e) {
+            throw new FileOperationException("Error flushing journal: " + e.getMessage(), e);
+        } finally {
+            closed = true;
+            try { channel.close(); } catch (IOException ignored) {}
+        }
+    }
+}
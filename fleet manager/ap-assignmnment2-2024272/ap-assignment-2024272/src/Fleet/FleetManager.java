@@ -1,165 +1,577 @@
 package Fleet;
 import Exceptions.FileOperationException;
+import Exceptions.InsufficientFuelException;
 import Exceptions.InvalidOperationException;
+import Exceptions.OverloadException;
+import Interfaces.CargoCarrier;
 import Interfaces.FuelConsumable;
 import Interfaces.Maintainable;
+import Interfaces.PassengerCarrier;
+import Interfaces.VehicleObserver;
+import Vehicles.MaintenancePolicy;
+import Vehicles.ModelDictionary;
 import Vehicles.Vehicle;
+import Vehicles.VehicleTypes;
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 public class FleetManager {
+    private final VehicleRegistry registry = new VehicleRegistry();
     private List<Vehicle> fleet;
-    private Set<String> uniqueModels;
-    private Set<String> sortedModels;
+    private final ModelDictionary models = new ModelDictionary();
+    private final CsvFleetWriter csvWriter = new CsvFleetWriter();
+    private final List<FleetObserver> observers = new CopyOnWriteArrayList<>();
+    private FleetJournal journal;
+    private MappedVehicleStore store;
+    private FleetObserver storeWriter;
+    private ExecutorService saveExecutor;
+    private final MaintenancePolicy maintenancePolicy = new MaintenancePolicy();
+    private final FleetAggregates aggregates = new FleetAggregates();
+    private final MaintenanceIndex maintenanceIndex = new MaintenanceIndex();
+    private final TypeIndex typeIndex = new TypeIndex();
+    private final SortedIndex.OfDouble speedIndex = new SortedIndex.OfDouble(Vehicle::getMaxSpeed, true);
+    private final SortedIndex.OfDouble efficiencyIndex = new SortedIndex.OfDouble(Vehicle::calculateFuelEfficiency, true);
+    private final SortedIndex.OfKey<String> modelIndex =
+            new SortedIndex.OfKey<>(Vehicle::getModel, Comparator.nullsLast(Comparator.<String>naturalOrder()), false);
+    private boolean verifyAggregates;
     public static final String DEFAULT_FILE = "data/fleetdata.csv";
     public FleetManager() {
-        this.fleet = new ArrayList<>();
-        this.uniqueModels = new HashSet<>();
-        this.sortedModels = new TreeSet<>();
+        this.fleet = null;
     }
     public void addVehicle(Vehicle v) throws InvalidOperationException {
-        for (Vehicle existing : fleet) {
-            if (existing.getId().equals(v.getId())) {
+        checkJoinable(v);
+        int handle = registry.add(v);
+        if (handle < 0) {
+            throw new InvalidOperationException("Duplicate ID: " + v.getId());
+        }
+        fleet = null;
+        models.acquire(v);
+        maintenancePolicy.attach(v);
+        aggregates.add(handle, v);
+        maintenanceIndex.add(handle, v);
+        typeIndex.add(handle, v);
+        speedIndex.add(handle, v);
+        efficiencyIndex.add(handle, v);
+        modelIndex.add(handle, v);
+        v.setObserver(new Member(handle));
+        for (FleetObserver o : observers) o.onVehicleAdded(v);
+        if (v instanceof Maintainable && ((Maintainable) v).needsMaintenance()) {
+            for (FleetObserver o : observers) o.onMaintenanceDue(v, v.getCurrentMileage());
+        }
+    }
+    private static void checkJoinable(Vehicle v) throws InvalidOperationException {
+        if (v.getObserver() != null) {
+            throw new InvalidOperationException("Vehicle " + v.getId() + " already belongs to a fleet");
+        }
+        if (VehicleTypes.of(v) == null) {
+            throw new InvalidOperationException("Unregistered vehicle type: " + v.getClass().getName());
+        }
+    }
+    // Checks everything before clearing, so a bad source leaves the fleet as it was.
+    private void replaceFleet(List<Vehicle> vehicles) throws InvalidOperationException {
+        Set<String> ids = new HashSet<>();
+        for (Vehicle v : vehicles) {
+            checkJoinable(v);
+            if (!ids.add(v.getId())) {
                 throw new InvalidOperationException("Duplicate ID: " + v.getId());
             }
         }
-        fleet.add(v);
-        if (v.getModel() != null) {
-            uniqueModels.add(v.getModel());
-            sortedModels.add(v.getModel());
-        }
+        clearFleet();
+        for (Vehicle v : vehicles) addVehicle(v);
     }
     public void removeVehicle(String id) throws InvalidOperationException {
-        boolean removed = fleet.removeIf(v -> v.getId().equals(id));
-        if (!removed)
+        int handle = registry.handleOf(id);
+        if (handle < 0)
             throw new InvalidOperationException("Vehicle with ID " + id + " not found.");
-        rebuildModelSets();
-    }
-    private void rebuildModelSets() {
-        uniqueModels.clear();
-        sortedModels.clear();
-        for (Vehicle v : fleet) {
-            if (v.getModel() != null) {
-                uniqueModels.add(v.getModel());
-                sortedModels.add(v.getModel());
+        Vehicle removed = registry.remove(handle);
+        fleet = null;
+        models.release(removed);
+        aggregates.remove(handle, removed);
+        maintenanceIndex.remove(handle);
+        typeIndex.remove(handle);
+        speedIndex.remove(handle);
+        efficiencyIndex.remove(handle);
+        modelIndex.remove(handle);
+        maintenancePolicy.detach(removed);
+        removed.setObserver(null);
+        for (FleetObserver o : observers) o.onVehicleRemoved(removed);
+    }
+    public void addObserver(FleetObserver observer) {
+        observers.add(observer);
+    }
+    public void removeObserver(FleetObserver observer) {
+        observers.remove(observer);
+    }
+    // Each member's observer carries its handle.
+    private final class Member implements VehicleObserver {
+        private final int handle;
+        Member(int handle) {
+            this.handle = handle;
+        }
+        @Override
+        public void onMileageChanged(Vehicle v, double oldMileage, double newMileage) {
+            aggregates.mileageChanged(handle, v, oldMileage, newMileage);
+            for (FleetObserver o : observers) o.onMileageChanged(v, oldMileage, newMileage);
+            reindexMaintenance(v);
+        }
+        @Override
+        public void onFuelChanged(Vehicle v, double oldLevel, double newLevel) {
+            for (FleetObserver o : observers) o.onFuelChanged(v, oldLevel, newLevel);
+        }
+        @Override
+        public void onCargoChanged(Vehicle v, double oldCargo, double newCargo) {
+            aggregates.refresh(handle, v);
+            efficiencyIndex.update(handle);
+            for (FleetObserver o : observers) o.onCargoChanged(v, oldCargo, newCargo);
+        }
+        @Override
+        public void onPassengersChanged(Vehicle v, int oldCount, int newCount) {
+            aggregates.refresh(handle, v);
+            efficiencyIndex.update(handle);
+            for (FleetObserver o : observers) o.onPassengersChanged(v, oldCount, newCount);
+        }
+        @Override
+        public void onMaintenanceChanged(Vehicle v, boolean oldScheduled, boolean newScheduled) {
+            for (FleetObserver o : observers) o.onMaintenanceChanged(v, oldScheduled, newScheduled);
+            reindexMaintenance(v);
+        }
+        @Override
+        public void onServiceMileageChanged(Vehicle v, double oldMileage, double newMileage) {
+            for (FleetObserver o : observers) o.onServiceMileageChanged(v, oldMileage, newMileage);
+        }
+        private void reindexMaintenance(Vehicle v) {
+            if (maintenanceIndex.update(handle)) {
+                for (FleetObserver o : observers) o.onMaintenanceDue(v, v.getCurrentMileage());
             }
         }
     }
+    public Vehicle getById(String id) {
+        return registry.get(id);
+    }
+    // Handles are reused after removal, so resolve them again after each membership change.
+    public int getHandle(String id) {
+        return registry.handleOf(id);
+    }
+    public Vehicle getByHandle(int handle) {
+        return registry.byHandle(handle);
+    }
+    // Arrays indexed by handle need this many slots.
+    public int getHandleLimit() {
+        return registry.handleLimit();
+    }
+    public boolean containsId(String id) {
+        return registry.contains(id);
+    }
+    public int size() {
+        return registry.size();
+    }
+    protected Collection<Vehicle> vehicles() {
+        return registry.values();
+    }
+    SortedIndex.OfDouble speedIndex() {
+        return speedIndex;
+    }
+    SortedIndex.OfKey<String> modelIndex() {
+        return modelIndex;
+    }
+    TypeIndex typeIndex() {
+        return typeIndex;
+    }
+    // The vehicles that are instances of the given class or interface, in fleet order, from the type index.
+    protected Collection<Vehicle> vehicles(Class<?> type) {
+        return type == Object.class ? registry.values() : typeIndex.bucket(type);
+    }
+    private void clearFleet() {
+        List<Vehicle> removed = new ArrayList<>(registry.values());
+        registry.clear();
+        fleet = null;
+        models.clear();
+        aggregates.clear();
+        maintenanceIndex.clear();
+        typeIndex.clear();
+        speedIndex.clear();
+        efficiencyIndex.clear();
+        modelIndex.clear();
+        for (Vehicle v : removed) {
+            maintenancePolicy.detach(v);
+            v.setObserver(null);
+            for (FleetObserver o : observers) o.onVehicleRemoved(v);
+        }
+    }
+    private void reorderFleet(List<Vehicle> sorted) {
+        registry.reorder(sorted);
+        fleet = null;
+        typeIndex.clear();
+        for (int h = registry.firstHandle(); h != -1; h = registry.nextHandle(h)) typeIndex.add(h, registry.byHandle(h));
+    }
     public void startAllJourneys(double distance) {
-        for (Vehicle v : fleet) {
+        for (Vehicle v : registry.values()) {
             try {
-                v.move(distance);
+                moveVehicle(v, distance);
+            } catch (InsufficientFuelException e) {
+                // Published as OUT_OF_FUEL; the vehicle stays where it is, as with move.
             } catch (Exception e) {
                 System.out.println("Error moving " + v.getId() + ": " + e.getMessage());
             }
         }
     }
+    public JourneyReport startAllJourneys(double distance, int parallelism) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(parallelism, 1));
+        try {
+            return startAllJourneys(distance, executor, parallelism);
+        } finally {
+            executor.shutdown();
+        }
+    }
+    // Each vehicle lands in exactly one contiguous batch, so only one worker ever moves it.
+    public JourneyReport startAllJourneys(double distance, ExecutorService executor, int parallelism) throws InterruptedException {
+        long start = System.nanoTime();
+        List<Vehicle> vehicles = getFleet();
+        int batches = Math.max(1, Math.min(vehicles.size(), Math.max(parallelism, 1) * 4));
+        int batchSize = (vehicles.size() + batches - 1) / Math.max(batches, 1);
+        List<List<Vehicle>> batchList = new ArrayList<>();
+        List<Callable<List<JourneyReport.Failure>>> tasks = new ArrayList<>();
+        for (int from = 0; from < vehicles.size(); from += batchSize) {
+            List<Vehicle> batch = vehicles.subList(from, Math.min(from + batchSize, vehicles.size()));
+            batchList.add(batch);
+            tasks.add(() -> runJourneys(batch, distance));
+        }
+        List<JourneyReport.Failure> failures = new ArrayList<>();
+        List<Future<List<JourneyReport.Failure>>> results = executor.invokeAll(tasks);
+        for (int i = 0; i < results.size(); i++) {
+            try {
+                failures.addAll(results.get(i).get());
+            } catch (ExecutionException e) {
+                // A batch only dies on an Error, after which none of its moves can be vouched for.
+                String reason = "Journey batch failed: " + e.getCause();
+                for (Vehicle v : batchList.get(i)) {
+                    failures.add(new JourneyReport.Failure(v.getId(), reason, e));
+                }
+            }
+        }
+        return new JourneyReport(distance, vehicles.size(), vehicles.size() - failures.size(), failures,
+                System.nanoTime() - start);
+    }
+    private List<JourneyReport.Failure> runJourneys(List<Vehicle> batch, double distance) {
+        List<JourneyReport.Failure> failures = new ArrayList<>();
+        for (Vehicle v : batch) {
+            try {
+                moveVehicle(v, distance);
+            } catch (InsufficientFuelException | InvalidOperationException e) {
+                failures.add(new JourneyReport.Failure(v.getId(), e.getMessage(), e));
+            } catch (RuntimeException e) {
+                failures.add(new JourneyReport.Failure(v.getId(), "Unexpected error: " + e.getMessage(), e));
+            }
+        }
+        return failures;
+    }
+    // Ranks the vehicles that could make each trip; nothing is moved or loaded.
+    public List<TripPlan> planTrips(List<TripRequest> trips, int parallelism) throws InterruptedException {
+        if (parallelism <= 1 || trips.size() < 2) {
+            TripPlanner planner = new TripPlanner(vehicles());
+            TripPlanner.Workspace ws = planner.workspace();
+            List<TripPlan> plans = new ArrayList<>(trips.size());
+            for (TripRequest trip : trips) plans.add(planner.plan(trip, ws));
+            return plans;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            return planTrips(trips, executor, parallelism);
+        } finally {
+            executor.shutdown();
+        }
+    }
+    public List<TripPlan> planTrips(List<TripRequest> trips, ExecutorService executor, int parallelism) throws InterruptedException {
+        TripPlanner planner = new TripPlanner(vehicles());
+        TripPlan[] plans = new TripPlan[trips.size()];
+        int batches = Math.max(1, Math.min(trips.size(), Math.max(parallelism, 1) * 4));
+        int batchSize = Math.max(1, (trips.size() + batches - 1) / batches);
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int from = 0; from < trips.size(); from += batchSize) {
+            int start = from;
+            int end = Math.min(from + batchSize, trips.size());
+            tasks.add(() -> {
+                TripPlanner.Workspace ws = planner.workspace();
+                for (int i = start; i < end; i++) plans[i] = planner.plan(trips.get(i), ws);
+                return null;
+            });
+        }
+        for (Future<Void> result : executor.invokeAll(tasks)) {
+            try {
+                result.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Trip planning failed", e.getCause());
+            }
+        }
+        return Arrays.asList(plans);
+    }
+    protected void moveVehicle(Vehicle v, double distance) throws InvalidOperationException, InsufficientFuelException {
+        v.travel(distance);
+    }
+    // Applies every request in one pass; a failed entry is recorded and the rest still go through.
+    public BulkReport boardPassengers(List<Map.Entry<String, Integer>> requests) {
+        List<BulkReport.Rejection> rejections = new ArrayList<>();
+        int applied = 0;
+        double total = 0;
+        for (Map.Entry<String, Integer> request : requests) {
+            String id = request.getKey();
+            int count = request.getValue();
+            Vehicle v = registry.get(id);
+            if (!(v instanceof PassengerCarrier)) {
+                rejections.add(new BulkReport.Rejection(id, count,
+                        v == null ? "Vehicle not found" : "Vehicle cannot carry passengers", false));
+                continue;
+            }
+            try {
+                boardVehicle((PassengerCarrier) v, count);
+                applied++;
+                total += count;
+            } catch (OverloadException e) {
+                rejections.add(new BulkReport.Rejection(id, count, e.getMessage(), true));
+            }
+        }
+        return new BulkReport("Board passengers", requests.size(), applied, total, rejections);
+    }
+    public BulkReport loadCargo(List<Map.Entry<String, Double>> requests) {
+        List<BulkReport.Rejection> rejections = new ArrayList<>();
+        int applied = 0;
+        double total = 0;
+        for (Map.Entry<String, Double> request : requests) {
+            String id = request.getKey();
+            double weight = request.getValue();
+            Vehicle v = registry.get(id);
+            if (!(v instanceof CargoCarrier)) {
+                rejections.add(new BulkReport.Rejection(id, weight,
+                        v == null ? "Vehicle not found" : "Vehicle cannot carry cargo", false));
+                continue;
+            }
+            try {
+                loadVehicle((CargoCarrier) v, weight);
+                applied++;
+                total += weight;
+            } catch (OverloadException e) {
+                rejections.add(new BulkReport.Rejection(id, weight, e.getMessage(), true));
+            }
+        }
+        return new BulkReport("Load cargo", requests.size(), applied, total, rejections);
+    }
+    protected void boardVehicle(PassengerCarrier carrier, int count) throws OverloadException {
+        carrier.boardPassengers(count);
+    }
+    protected void loadVehicle(CargoCarrier carrier, double weight) throws OverloadException {
+        carrier.loadCargo(weight);
+    }
+    // Burns the fuel for the trip; projectFuel answers the same question without touching the tanks.
     public double getTotalFuelConsumption(double distance) {
         double total = 0;
-        for (Vehicle v : fleet) {
-            if (v instanceof FuelConsumable) {
-                try {
-                    total += ((FuelConsumable) v).consumeFuel(distance);
-                } catch (Exception e) {
-                    System.out.println("Fuel error for " + v.getId() + ": " + e.getMessage());
-                }
+        for (Vehicle v : vehicles(FuelConsumable.class)) {
+            try {
+                total += ((FuelConsumable) v).consumeFuel(distance);
+            } catch (Exception e) {
+                System.out.println("Fuel error for " + v.getId() + ": " + e.getMessage());
             }
         }
         return total;
     }
+    public FuelProjection projectFuel(double distance) {
+        return projectFuel(Collections.singletonList(new FuelScenario("All vehicles " + distance + " km", distance))).get(0);
+    }
+    public List<FuelProjection> projectFuel(List<FuelScenario> scenarios) {
+        return projectFuel(scenarios, ForkJoinPool.commonPool());
+    }
+    // One projection per scenario, in order, over the fuel-burning vehicles only.
+    public List<FuelProjection> projectFuel(List<FuelScenario> scenarios, ForkJoinPool pool) {
+        return new FuelProjector(vehicles(FuelConsumable.class), scenarios).run(pool);
+    }
     public void refuelAll(double amount) {
-        for (Vehicle v : fleet) {
-            if (v instanceof FuelConsumable) {
-                try {
-                    ((FuelConsumable) v).refuel(amount);
-                } catch (Exception e) {
-                    System.out.println("Error refueling " + v.getId() + ": " + e.getMessage());
-                }
+        for (Vehicle v : vehicles(FuelConsumable.class)) {
+            try {
+                ((FuelConsumable) v).refuel(amount);
+            } catch (Exception e) {
+                System.out.println("Error refueling " + v.getId() + ": " + e.getMessage());
             }
         }
     }
     public void maintainAll() {
-        for (Vehicle v : fleet) {
-            if (v instanceof Maintainable) {
-                Maintainable m = (Maintainable) v;
-                if (m.needsMaintenance()) {
-                    m.performMaintenance();
-                }
+        for (Vehicle v : maintenanceIndex.dueNow()) {
+            Maintainable m = (Maintainable) v;
+            if (m.needsMaintenance()) {
+                m.performMaintenance();
             }
         }
     }
+    // Answered from the maintenance index, most urgent first: scheduled vehicles, then the furthest past due.
     public List<Vehicle> getVehiclesNeedingMaintenance() {
-        List<Vehicle> needing = new ArrayList<>();
-        for (Vehicle v : fleet) {
-            if (v instanceof Maintainable && ((Maintainable) v).needsMaintenance()) {
-                needing.add(v);
-            }
-        }
-        return needing;
+        return maintenanceIndex.dueNow();
+    }
+    public List<Vehicle> getVehiclesDueWithin(double km) {
+        return maintenanceIndex.dueWithin(km);
+    }
+    public double getRemainingKmBeforeMaintenance(String id) {
+        int handle = registry.handleOf(id);
+        return handle < 0 ? Double.NaN : maintenanceIndex.remainingKm(handle);
+    }
+    // Changes the threshold for a vehicle class in this fleet only and re-keys its index.
+    public void setMaintenanceThreshold(Class<? extends Vehicle> type, double km) {
+        maintenancePolicy.setThreshold(type, km);
+        reindexMaintenance();
+    }
+    public void resetMaintenanceThreshold(Class<? extends Vehicle> type) {
+        maintenancePolicy.resetThreshold(type);
+        reindexMaintenance();
+    }
+    public double getMaintenanceThreshold(Class<? extends Vehicle> type) {
+        return maintenancePolicy.getThreshold(type);
+    }
+    public void reindexMaintenance() {
+        maintenanceIndex.rebuild();
     }
     public List<Vehicle> searchByType(Class<?> type) {
-        List<Vehicle> results = new ArrayList<>();
-        for (Vehicle v : fleet) {
-            if (type.isInstance(v)) {
-                results.add(v);
-            }
-        }
-        return results;
+        return new ArrayList<>(vehicles(type));
     }
+    public int countByType(Class<?> type) {
+        return type == Object.class ? registry.size() : typeIndex.count(type);
+    }
+    // The sortFleetBy* methods permanently reorder getFleet(); the getFleetBy* views leave it untouched.
     public void sortFleetByEfficiency() {
-        fleet.sort(Comparator.comparingDouble(Vehicle::calculateFuelEfficiency).reversed());
+        reorderFleet(efficiencyIndex.ordered());
     }
     public void sortFleetBySpeed() {
-        fleet.sort(Comparator.comparingDouble(Vehicle::getMaxSpeed).reversed());
+        reorderFleet(speedIndex.ordered());
     }
     public void sortFleetByModel() {
-        fleet.sort(Comparator.comparing(Vehicle::getModel, Comparator.nullsLast(String::compareTo)));
+        reorderFleet(modelIndex.ordered());
+    }
+    public List<Vehicle> getFleetByEfficiency() {
+        return efficiencyIndex.ordered();
+    }
+    public List<Vehicle> getFleetBySpeed() {
+        return speedIndex.ordered();
+    }
+    public List<Vehicle> getFleetByModel() {
+        return modelIndex.ordered();
+    }
+    public List<Vehicle> getFastestVehicles(int k) {
+        return speedIndex.top(k);
+    }
+    public List<Vehicle> getMostEfficientVehicles(int k) {
+        return efficiencyIndex.top(k);
+    }
+    // Lazy: candidates come from an index covering part of the query where there is one, else from a scan.
+    public FleetCursor query(FleetQuery query) {
+        return new FleetCursor(query, query.sourceOrScan(this), null);
+    }
+    // Pass null for the first page. A re-sort or reload invalidates tokens that walk fleet order.
+    public FleetCursor.Page query(FleetQuery query, int pageSize, String continuationToken) {
+        if (pageSize <= 0) throw new IllegalArgumentException("Page size must be positive");
+        String mark = FleetCursor.markOf(query, continuationToken);
+        return new FleetCursor(query, query.sourceOrScan(this), mark).nextPage(pageSize);
     }
     public Vehicle getFastestVehicle() {
-        if (fleet.isEmpty()) return null;
-        return Collections.max(fleet, Comparator.comparingDouble(Vehicle::getMaxSpeed));
+        return speedIndex.max();
     }
     public Vehicle getSlowestVehicle() {
-        if (fleet.isEmpty()) return null;
-        return Collections.min(fleet, Comparator.comparingDouble(Vehicle::getMaxSpeed));
+        return speedIndex.min();
     }
+    // Built from running aggregates in time independent of fleet size; verify mode also recomputes them.
     public String generateReport() {
-        StringBuilder sb = new StringBuilder();
-        sb.append("=== Fleet Report ===\n");
-        sb.append("Total Vehicles: ").append(fleet.size()).append("\n");
-        Map<String, Integer> typeCounts = new HashMap<>();
-        double totalMileage = 0;
-        double totalEfficiency = 0;
-        int countEfficiency = 0;
-        for (Vehicle v : fleet) {
-            String type = v.getClass().getSimpleName();
-            typeCounts.put(type, typeCounts.getOrDefault(type, 0) + 1);
-            totalMileage += v.getCurrentMileage();
-            double eff = v.calculateFuelEfficiency();
-            if (eff > 0) {
-                totalEfficiency += eff;
-                countEfficiency++;
+        if (verifyAggregates) {
+            List<String> mismatches = aggregates.verify(registry.values());
+            int due = 0;
+            for (Vehicle v : registry.values()) {
+                if (v instanceof Maintainable && ((Maintainable) v).needsMaintenance()) due++;
+            }
+            if (due != maintenanceIndex.dueCount()) {
+                mismatches.add("maintenance count " + maintenanceIndex.dueCount() + " != " + due);
+            }
+            if (!mismatches.isEmpty()) {
+                throw new IllegalStateException("Fleet aggregates out of sync: " + mismatches);
             }
         }
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== Fleet Report ===\n");
+        sb.append("Total Vehicles: ").append(registry.size()).append("\n");
+        Map<String, Integer> typeCounts = aggregates.getTypeCounts();
         for (String type : typeCounts.keySet()) {
             sb.append(type).append(": ").append(typeCounts.get(type)).append("\n");
         }
-        sb.append("Total mileage: ").append(totalMileage).append(" km\n");
-        if (countEfficiency > 0) {
-            sb.append("Average efficiency: ").append(totalEfficiency / countEfficiency).append(" km/l\n");
+        sb.append("Total mileage: ").append(aggregates.getTotalMileage()).append(" km\n");
+        if (aggregates.getEfficiencyCount() > 0) {
+            sb.append("Average efficiency: ").append(aggregates.getEfficiencySum() / aggregates.getEfficiencyCount()).append(" km/l\n");
         }
-        sb.append("Maintenance needed: ").append(getVehiclesNeedingMaintenance().size()).append(" Vehicles\n");
+        sb.append("Maintenance needed: ").append(maintenanceIndex.dueCount()).append(" Vehicles\n");
         return sb.toString();
     }
+    public FleetAggregates getAggregates() {
+        return aggregates;
+    }
+    public boolean isVerifyAggregates() {
+        return verifyAggregates;
+    }
+    public void setVerifyAggregates(boolean verifyAggregates) {
+        this.verifyAggregates = verifyAggregates;
+    }
     public List<Vehicle> getFleet() {
-        return Collections.unmodifiableList(this.fleet);
+        if (fleet == null) {
+            fleet = Collections.unmodifiableList(new ArrayList<>(registry.values()));
+        }
+        return fleet;
     }
+    // Both model views are the dictionary's own sorted key set.
     public Set<String> getUniqueModels() {
-        return Collections.unmodifiableSet(this.uniqueModels);
+        return models.models();
     }
     public Set<String> getSortedModels() {
-        return Collections.unmodifiableSet(this.sortedModels);
+        return models.models();
+    }
+    public int getModelCode(String model) {
+        return models.codeOf(model);
+    }
+    public int countByModel(String model) {
+        return models.count(model);
     }
     public void saveToFile(String filename) throws FileOperationException {
+        long start = System.nanoTime();
+        File f = prepareSaveTarget(filename);
+        CsvFleetWriter.Snapshot snapshot = snapshotCsv();
+        writeCsv(snapshot, f, start, System.nanoTime() - start);
+    }
+    public CompletableFuture<SaveReport> saveToFileAsync(String filename) {
+        return saveToFileAsync(filename, saveExecutor());
+    }
+    // Captures the rows now and writes them on the executor; later changes do not reach this save.
+    public CompletableFuture<SaveReport> saveToFileAsync(String filename, Executor executor) {
+        long start = System.nanoTime();
+        File f;
+        try {
+            f = prepareSaveTarget(filename);
+        } catch (FileOperationException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        CsvFleetWriter.Snapshot snapshot = snapshotCsv();
+        long snapshotNanos = System.nanoTime() - start;
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return writeCsv(snapshot, f, start, snapshotNanos);
+            } catch (FileOperationException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+    // The only step of a save that reads the fleet.
+    CsvFleetWriter.Snapshot snapshotCsv() {
+        return csvWriter.snapshot(registry, maintenancePolicy.version());
+    }
+    private static File prepareSaveTarget(String filename) throws FileOperationException {
         File f = new File(filename);
         File parent = f.getParentFile();
         if (parent != null && !parent.exists()) {
@@ -167,165 +579,218 @@ public class FleetManager {
                 throw new FileOperationException("Unable to create directory: " + parent.getAbsolutePath());
             }
         }
-        try (PrintWriter pw = new PrintWriter(new FileWriter(f))) {
-            pw.println("type,id,model,maxSpeed,efficiency,fuelLevel,currentPassengers,maintenanceNeeded,currentMileage");
-            for (Vehicle v : fleet) {
-                String type = v.getClass().getSimpleName();
-                String modelRaw = v.getModel() == null ? "" : v.getModel();
-                String model = "\"" + modelRaw.replace("\"", "\"\"") + "\"";
-                String base = String.format("%s,%s,%s,%.2f,%.4f",
-                        type, v.getId(), model, v.getMaxSpeed(), v.calculateFuelEfficiency());
-                if (v instanceof Vehicles.Car) {
-                    Vehicles.Car car = (Vehicles.Car) v;
-                    pw.printf("%s,%.4f,%d,%b,%.4f%n",
-                            base,
-                            car.getFuelLevel(),
-                            car.getCurrentPassengers(),
-                            car.needsMaintenance(),
-                            car.getCurrentMileage());
-                } else {
-                    double mileage = 0.0;
-                    try { mileage = v.getCurrentMileage(); } catch (Exception ignored) {}
-                    pw.printf("%s,,,,%.4f%n", base, mileage);
-                }
-            }
+        return f;
+    }
+    private static SaveReport writeCsv(CsvFleetWriter.Snapshot snapshot, File f, long start, long snapshotNanos) throws FileOperationException {
+        try {
+            long bytes = snapshot.writeTo(f.toPath());
+            return new SaveReport(f.getPath(), snapshot.getRowCount(), snapshot.getEncodedRows(), bytes,
+                    snapshotNanos, System.nanoTime() - start);
         } catch (IOException e) {
             throw new FileOperationException("Error saving fleet: " + e.getMessage(), e);
         }
     }
+    private synchronized ExecutorService saveExecutor() {
+        if (saveExecutor == null) {
+            saveExecutor = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "fleet-saver");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return saveExecutor;
+    }
+    public long saveSnapshot(String filename) throws FileOperationException {
+        return FleetSnapshot.write(registry.values(), new File(filename));
+    }
+    // Makes the store an exact copy of the fleet.
+    public void saveToStore(MappedVehicleStore target) throws FileOperationException {
+        if (target == store) {
+            store.flush();
+            return;
+        }
+        List<String> orphans = new ArrayList<>();
+        target.forEachId(id -> {
+            if (!registry.contains(id)) orphans.add(id);
+        });
+        for (String id : orphans) target.remove(id);
+        for (Vehicle v : registry.values()) {
+            try {
+                target.put(v);
+            } catch (InvalidOperationException e) {
+                throw new FileOperationException("Error saving to " + target.getPath() + ": " + e.getMessage(), e);
+            }
+        }
+    }
+    // An existing store replaces the fleet and a new one is filled from it; changes are then written through.
+    public void openStore(String filename) throws FileOperationException {
+        if (store != null) {
+            throw new FileOperationException("Store already open: " + store.getPath());
+        }
+        MappedVehicleStore opened = MappedVehicleStore.open(new File(filename).toPath());
+        try {
+            if (opened.size() > 0) {
+                replaceFleet(opened.readAll());
+            } else {
+                saveToStore(opened);
+            }
+        } catch (InvalidOperationException | FileOperationException e) {
+            closeQuietly(opened);
+            throw new FileOperationException("Error opening store " + filename + ": " + e.getMessage(), e);
+        }
+        storeWriter = opened.bind();
+        store = opened;
+        addObserver(storeWriter);
+    }
+    public void closeStore() throws FileOperationException {
+        if (store == null) return;
+        removeObserver(storeWriter);
+        try {
+            store.unbind();
+            store.close();
+        } catch (IOException e) {
+            throw new FileOperationException("Error closing store " + store.getPath() + ": " + e.getMessage(), e);
+        } finally {
+            store = null;
+            storeWriter = null;
+        }
+    }
+    private static void closeQuietly(MappedVehicleStore s) {
+        try {
+            s.close();
+        } catch (IOException ignored) {
+        }
+    }
+    public void loadSnapshot(String filename) throws FileOperationException {
+        List<Vehicle> vehicles = FleetSnapshot.read(new File(filename));
+        try {
+            replaceFleet(vehicles);
+        } catch (InvalidOperationException e) {
+            throw new FileOperationException("Corrupt snapshot " + filename + ": " + e.getMessage(), e);
+        }
+    }
+    public void enableJournal(String snapshotFile, String journalFile) throws FileOperationException {
+        if (journal != null) {
+            throw new FileOperationException("Journal already enabled");
+        }
+        File snapshot = new File(snapshotFile);
+        File log = new File(journalFile);
+        if (snapshot.exists() || log.exists()) {
+            List<Vehicle> recovered = FleetJournal.recover(snapshot, log);
+            try {
+                replaceFleet(recovered);
+            } catch (InvalidOperationException e) {
+                throw new FileOperationException("Journal recovery failed: " + e.getMessage(), e);
+            }
+        }
+        journal = FleetJournal.open(this, snapshot, log);
+        addObserver(journal);
+    }
+    public void checkpoint() throws FileOperationException {
+        if (journal == null) {
+            throw new FileOperationException("Journal not enabled");
+        }
+        journal.checkpoint();
+    }
+    public void closeJournal() throws FileOperationException {
+        if (journal == null) return;
+        removeObserver(journal);
+        try {
+            journal.close();
+        } finally {
+            journal = null;
+        }
+    }
     public void loadFromFile(String filename) throws FileOperationException {
+        loadFromFile(filename, false);
+    }
+    public void loadFromFile(String filename, boolean preview) throws FileOperationException {
         File f = new File(filename);
         if (!f.exists()) {
             throw new FileOperationException("File not found: " + filename);
         }
-        System.out.println("=== FILE CONTENT START ===");
-        try (BufferedReader preview = new BufferedReader(new FileReader(f))) {
-            String linePreview;
-            while ((linePreview = preview.readLine()) != null) {
-                System.out.println(linePreview);
-            }
+        clearFleet();
+        CsvLoad load = new CsvLoad(preview);
+        long start = System.nanoTime();
+        if (preview) System.out.println("=== FILE CONTENT START ===");
+        try {
+            new CsvFleetReader().read(f.toPath(), load);
         } catch (IOException e) {
-            System.out.println("Could not preview file: " + e.getMessage());
-        }
-        System.out.println("=== FILE CONTENT END ===\n");
-        int loaded = 0;
-        int skipped = 0;
-        List<String> errors = new ArrayList<>();
-        try (BufferedReader br = new BufferedReader(new FileReader(f))) {
-            String line;
-            this.fleet.clear();
-            this.uniqueModels.clear();
-            this.sortedModels.clear();
-            br.mark(4096);
-            String first = br.readLine();
-            if (first == null) {
-                System.out.println("Load: empty file.");
-                return;
+            throw new FileOperationException("Error loading fleet: " + e.getMessage(), e);
+        }
+        if (preview) System.out.println("=== FILE CONTENT END ===\n");
+        if (load.rows == 0) {
+            System.out.println("Load: empty file.");
+            return;
+        }
+        load.report(System.nanoTime() - start);
+    }
+    public void loadFromFileParallel(String filename) throws FileOperationException {
+        loadFromFileParallel(filename, ForkJoinPool.commonPool());
+    }
+    public void loadFromFileParallel(String filename, ForkJoinPool pool) throws FileOperationException {
+        File f = new File(filename);
+        if (!f.exists()) {
+            throw new FileOperationException("File not found: " + filename);
+        }
+        clearFleet();
+        CsvLoad load = new CsvLoad(false);
+        long start = System.nanoTime();
+        List<List<CsvRowMapper.ParsedRow>> chunks;
+        try {
+            chunks = new ParallelCsvImport(pool).parse(f.toPath());
+        } catch (IOException e) {
+            throw new FileOperationException("Error loading fleet: " + e.getMessage(), e);
+        }
+        if (chunks.isEmpty()) {
+            System.out.println("Load: empty file.");
+            return;
+        }
+        for (List<CsvRowMapper.ParsedRow> chunk : chunks) {
+            for (CsvRowMapper.ParsedRow parsed : chunk) {
+                load.merge(parsed);
             }
-            if (!first.toLowerCase().startsWith("type,")) {
-                br.reset();
+        }
+        load.report(System.nanoTime() - start);
+    }
+    private class CsvLoad implements CsvFleetReader.RowHandler {
+        private final boolean preview;
+        private long rows;
+        private int loaded;
+        private int skipped;
+        private final List<String> errors = new ArrayList<>();
+        CsvLoad(boolean preview) {
+            this.preview = preview;
+        }
+        @Override
+        public void onRow(CsvRow row) {
+            if (preview) System.out.println(row.line());
+            CsvRowMapper.ParsedRow parsed = CsvRowMapper.parse(row, rows++ == 0);
+            if (parsed != null) merge(parsed);
+        }
+        void merge(CsvRowMapper.ParsedRow parsed) {
+            if (parsed.error != null) {
+                errors.add(parsed.error);
+                skipped++;
+                return;
             }
-            while ((line = br.readLine()) != null) {
-                line = line.trim();
-                if (line.isEmpty()) continue;
-                List<String> partsList = new ArrayList<>();
-                boolean inQuotes = false;
-                StringBuilder cur = new StringBuilder();
-                for (int i = 0; i < line.length(); i++) {
-                    char c = line.charAt(i);
-                    if (c == '"') {
-                        inQuotes = !inQuotes;
-                        cur.append(c);
-                    } else if (c == ',' && !inQuotes) {
-                        partsList.add(cur.toString());
-                        cur.setLength(0);
-                    } else {
-                        cur.append(c);
-                    }
-                }
-                partsList.add(cur.toString());
-                String[] parts = partsList.toArray(new String[0]);
-                if (parts.length < 5) {
-                    errors.add("Skipping malformed line (not enough columns): " + line);
-                    skipped++;
-                    continue;
-                }
-                try {
-                    String type = parts[0].trim();
-                    String id = parts[1].trim();
-                    String modelField = parts[2].trim();
-                    if (modelField.startsWith("\"") && modelField.endsWith("\"") && modelField.length() >= 2) {
-                        modelField = modelField.substring(1, modelField.length() - 1).replace("\"\"", "\"");
-                    }
-                    double maxSpeed = 0.0;
-                    try { maxSpeed = Double.parseDouble(parts[3].trim()); } catch (NumberFormatException ignored) {}
-                    double efficiency = 0.0;
-                    try { efficiency = Double.parseDouble(parts[4].trim()); } catch (NumberFormatException ignored) {}
-                    Vehicle v = null;
-                    if (type.equalsIgnoreCase("Car")) {
-                        Vehicles.Car car = new Vehicles.Car(id, modelField, maxSpeed, 4);
-                        if (parts.length >= 9) {
-                            try {
-                                String fuelStr = parts[5].trim();
-                                String passengersStr = parts[6].trim();
-                                String maintenanceStr = parts[7].trim();
-                                String mileageStr = parts[8].trim();
-                                double fuel = 0.0;
-                                try { if (!fuelStr.isEmpty()) fuel = Double.parseDouble(fuelStr); } catch (NumberFormatException ignored) {}
-                                int currPassengers = 0;
-                                try { if (!passengersStr.isEmpty()) currPassengers = Integer.parseInt(passengersStr); } catch (NumberFormatException ignored) {}
-                                boolean maintenance = false;
-                                try { if (!maintenanceStr.isEmpty()) maintenance = Boolean.parseBoolean(maintenanceStr); } catch (Exception ignored) {}
-                                double mileage = 0.0;
-                                try { if (!mileageStr.isEmpty()) mileage = Double.parseDouble(mileageStr); } catch (NumberFormatException ignored) {}
-                                if (fuel > 0) {
-                                    try { car.refuel(fuel); } catch (Exception ignored) {}
-                                }
-                                int toBoard = Math.min(currPassengers, car.getPassengerCapacity());
-                                for (int i = 0; i < toBoard; i++) {
-                                    try { car.boardPassengers(1); } catch (Exception ignored) {}
-                                }
-                                if (!maintenance) {
-                                    if (car.needsMaintenance()) car.performMaintenance();
-                                } else {
-                                    car.scheduleMaintenance();
-                                }
-                                double current = car.getCurrentMileage();
-                                if (mileage > current) {
-                                    try { car.addMileage(mileage - current); } catch (Exception ignored) {}
-                                }
-                                System.out.println("Loaded Car " + id + " (maintenanceNeeded=" + maintenance + ")");
-                            } catch (Exception ignored) {}
-                        }
-                        v = car;
-                    } else {
-                        String[] data = new String[] { id, modelField, String.valueOf(maxSpeed), String.valueOf(efficiency) };
-                        v = VehicleFactory.createVehicle(type, data);
-                    }
-                    if (v != null) {
-                        try {
-                            this.addVehicle(v);
-                            loaded++;
-                        } catch (InvalidOperationException ioe) {
-                            errors.add("Skipping duplicate/invalid vehicle id " + id + " : " + ioe.getMessage());
-                            skipped++;
-                        }
-                    } else {
-                        errors.add("VehicleFactory returned null for type " + type + " (line: " + line + ")");
-                        skipped++;
-                    }
-                } catch (Exception ex) {
-                    errors.add("Error parsing line: " + line + " (" + ex.getMessage() + ")");
-                    skipped++;
-                }
+            parsed.publishLoaded();
+            try {
+                addVehicle(parsed.vehicle);
+                loaded++;
+            } catch (InvalidOperationException ioe) {
+                errors.add("Skipping duplicate/invalid vehicle id " + parsed.vehicle.getId() + " : " + ioe.getMessage());
+                skipped++;
             }
-        } catch (IOException e) {
-            throw new FileOperationException("Error loading fleet: " + e.getMessage(), e);
         }
-        System.out.printf("Fleet load complete: %d loaded, %d skipped%n", loaded, skipped);
-        if (!errors.isEmpty()) {
-            System.out.println("Load errors:");
-            errors.forEach(System.out::println);
+        void report(long elapsedNanos) {
+            double seconds = Math.max(elapsedNanos, 1) / 1e9;
+            System.out.printf("Fleet load complete: %d loaded, %d skipped (%.0f rows/s)%n",
+                    loaded, skipped, (loaded + skipped) / seconds);
+            if (!errors.isEmpty()) {
+                System.out.println("Load errors:");
+                errors.forEach(System.out::println);
+            }
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package Fleet;
+import Interfaces.VehicleObserver;
+import Vehicles.Vehicle;
+public interface FleetObserver extends VehicleObserver {
+    default void onVehicleAdded(Vehicle v) {}
+    default void onVehicleRemoved(Vehicle v) {}
+    // Fired once when a vehicle goes from not needing maintenance to needing it.
+    default void onMaintenanceDue(Vehicle v, double mileage) {}
+}
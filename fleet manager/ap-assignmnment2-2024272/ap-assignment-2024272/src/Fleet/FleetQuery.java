@@ -0,0 +1,343 @@
+package Fleet;
+import Interfaces.FuelConsumable;
+import Vehicles.Vehicle;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+// A predicate over vehicles that also knows which fleet index, if any, can produce its candidates.
+public abstract class FleetQuery {
+    // Candidates from one index in its order; the cursor still filters them with the whole query.
+    abstract static class Source {
+        // From the start for a null mark, else from just after the place the mark names.
+        abstract Iterator<Vehicle> iterator(String mark);
+        // Names the place just after a vehicle this source produced, which must still be in the fleet.
+        abstract String markAfter(Vehicle v);
+        // Counts candidates, stopping at the bound.
+        int count(int bound) {
+            int n = 0;
+            for (Iterator<Vehicle> it = iterator(null); n < bound && it.hasNext(); it.next()) n++;
+            return n;
+        }
+    }
+    public abstract boolean matches(Vehicle v);
+    // Null when no index covers the query.
+    abstract Source source(FleetManager fleet);
+    // Queries no index covers scan the whole fleet in fleet order.
+    Source sourceOrScan(FleetManager fleet) {
+        Source source = source(fleet);
+        return source != null ? source : typeSource(fleet, Vehicle.class);
+    }
+    public FleetQuery and(FleetQuery other) {
+        return and(this, other);
+    }
+    public FleetQuery or(FleetQuery other) {
+        return or(this, other);
+    }
+    // Inclusive on both ends.
+    public static FleetQuery speedBetween(double min, double max) {
+        return new FleetQuery() {
+            @Override
+            public boolean matches(Vehicle v) {
+                return v.getMaxSpeed() >= min && v.getMaxSpeed() <= max;
+            }
+            @Override
+            Source source(FleetManager fleet) {
+                return new Source() {
+                    @Override
+                    Iterator<Vehicle> iterator(String mark) {
+                        if (mark == null) return fleet.speedIndex().ascendingFrom(min, speed -> speed <= max);
+                        int comma = commaIn(mark);
+                        double key = Double.longBitsToDouble(parseHex(mark.substring(0, comma)));
+                        return fleet.speedIndex().ascendingAfter(key, parseHex(mark.substring(comma + 1)), speed -> speed <= max);
+                    }
+                    @Override
+                    String markAfter(Vehicle v) {
+                        long seq = fleet.speedIndex().sequenceOf(fleet.getHandle(v.getId()));
+                        return Long.toHexString(Double.doubleToLongBits(v.getMaxSpeed())) + "," + Long.toHexString(seq);
+                    }
+                };
+            }
+            @Override
+            public String toString() {
+                return "maxSpeed between " + min + " and " + max;
+            }
+        };
+    }
+    public static FleetQuery mileageAbove(double km) {
+        return new FleetQuery() {
+            @Override
+            public boolean matches(Vehicle v) {
+                return v.getCurrentMileage() > km;
+            }
+            @Override
+            Source source(FleetManager fleet) {
+                return null;
+            }
+            @Override
+            public String toString() {
+                return "mileage above " + km;
+            }
+        };
+    }
+    // Vehicles without a fuel tank never match.
+    public static FleetQuery fuelBelow(double level) {
+        return new FleetQuery() {
+            @Override
+            public boolean matches(Vehicle v) {
+                return v instanceof FuelConsumable && ((FuelConsumable) v).getFuelLevel() < level;
+            }
+            @Override
+            Source source(FleetManager fleet) {
+                return typeSource(fleet, FuelConsumable.class);
+            }
+            @Override
+            public String toString() {
+                return "fuel below " + level;
+            }
+        };
+    }
+    public static FleetQuery modelPrefix(String prefix) {
+        if (prefix == null) throw new IllegalArgumentException("Model prefix cannot be null");
+        return new FleetQuery() {
+            @Override
+            public boolean matches(Vehicle v) {
+                return v.getModel() != null && v.getModel().startsWith(prefix);
+            }
+            @Override
+            Source source(FleetManager fleet) {
+                return new Source() {
+                    @Override
+                    Iterator<Vehicle> iterator(String mark) {
+                        if (mark == null) {
+                            return fleet.modelIndex().ascendingFrom(prefix, model -> model != null && model.startsWith(prefix));
+                        }
+                        int comma = commaIn(mark);
+                        String key = new String(decode(mark.substring(0, comma)), StandardCharsets.UTF_8);
+                        return fleet.modelIndex().ascendingAfter(key, parseHex(mark.substring(comma + 1)),
+                                model -> model != null && model.startsWith(prefix));
+                    }
+                    @Override
+                    String markAfter(Vehicle v) {
+                        long seq = fleet.modelIndex().sequenceOf(fleet.getHandle(v.getId()));
+                        byte[] key = v.getModel().getBytes(StandardCharsets.UTF_8);
+                        return Base64.getUrlEncoder().withoutPadding().encodeToString(key) + "," + Long.toHexString(seq);
+                    }
+                };
+            }
+            @Override
+            public String toString() {
+                return "model starts with \"" + prefix + "\"";
+            }
+        };
+    }
+    // Any vehicle class, abstract superclass or capability interface.
+    public static FleetQuery ofType(Class<?> type) {
+        if (type == null) throw new IllegalArgumentException("Type cannot be null");
+        return new FleetQuery() {
+            @Override
+            public boolean matches(Vehicle v) {
+                return type.isInstance(v);
+            }
+            @Override
+            Source source(FleetManager fleet) {
+                return typeSource(fleet, type);
+            }
+            @Override
+            public String toString() {
+                return "type " + type.getSimpleName();
+            }
+        };
+    }
+    // Buckets resume after the fleet position of the last vehicle, so they keep fleet order across pages.
+    private static Source typeSource(FleetManager fleet, Class<?> type) {
+        if (type == Object.class) return null;
+        TypeIndex index = fleet.typeIndex();
+        return new Source() {
+            @Override
+            Iterator<Vehicle> iterator(String mark) {
+                return mark == null ? index.bucket(type).iterator() : index.after(type, parseHex(mark));
+            }
+            @Override
+            String markAfter(Vehicle v) {
+                return Long.toHexString(index.positionOf(fleet.getHandle(v.getId())));
+            }
+            @Override
+            int count(int bound) {
+                return Math.min(bound, index.count(type));
+            }
+        };
+    }
+    // Driven by whichever part has the fewest candidates.
+    public static FleetQuery and(FleetQuery... parts) {
+        List<FleetQuery> all = parts(parts);
+        return new FleetQuery() {
+            @Override
+            public boolean matches(Vehicle v) {
+                for (FleetQuery q : all) {
+                    if (!q.matches(v)) return false;
+                }
+                return true;
+            }
+            // Marks name the part that drove the walk, so later pages stay with it whatever the counts are then.
+            @Override
+            Source source(FleetManager fleet) {
+                int best = -1;
+                Source bestSource = null;
+                int bound = fleet.size() + 1;
+                for (int i = 0; i < all.size(); i++) {
+                    Source s = all.get(i).source(fleet);
+                    if (s == null) continue;
+                    int n = s.count(bound);
+                    if (n < bound) {
+                        best = i;
+                        bestSource = s;
+                        bound = n;
+                    }
+                }
+                if (bestSource == null) return null;
+                int chosen = best;
+                Source chosenSource = bestSource;
+                return new Source() {
+                    private int part = chosen;
+                    private Source driver = chosenSource;
+                    @Override
+                    Iterator<Vehicle> iterator(String mark) {
+                        if (mark == null) return driver.iterator(null);
+                        int slash = slashIn(mark);
+                        part = partIn(mark, slash, all.size());
+                        driver = all.get(part).source(fleet);
+                        if (driver == null) throw malformed(mark);
+                        return driver.iterator(mark.substring(slash + 1));
+                    }
+                    @Override
+                    String markAfter(Vehicle v) {
+                        return Integer.toHexString(part) + "/" + driver.markAfter(v);
+                    }
+                    @Override
+                    int count(int bound) {
+                        return driver.count(bound);
+                    }
+                };
+            }
+            @Override
+            public String toString() {
+                return join(all, " AND ");
+            }
+        };
+    }
+    // Indexed only when every part is; vehicles an earlier part matched are skipped.
+    public static FleetQuery or(FleetQuery... parts) {
+        List<FleetQuery> all = parts(parts);
+        return new FleetQuery() {
+            @Override
+            public boolean matches(Vehicle v) {
+                for (FleetQuery q : all) {
+                    if (q.matches(v)) return true;
+                }
+                return false;
+            }
+            @Override
+            Source source(FleetManager fleet) {
+                List<Source> sources = new ArrayList<>(all.size());
+                for (FleetQuery q : all) {
+                    Source s = q.source(fleet);
+                    if (s == null) return null;
+                    sources.add(s);
+                }
+                // A vehicle comes from the first part it matches, which is the part its mark resumes.
+                return new Source() {
+                    @Override
+                    Iterator<Vehicle> iterator(String mark) {
+                        int slash = mark == null ? -1 : slashIn(mark);
+                        int first = mark == null ? 0 : partIn(mark, slash, sources.size());
+                        return new Iterator<Vehicle>() {
+                            private int part = first;
+                            private Iterator<Vehicle> current = sources.get(first).iterator(mark == null ? null : mark.substring(slash + 1));
+                            private Vehicle next = advance();
+                            private Vehicle advance() {
+                                while (true) {
+                                    while (current.hasNext()) {
+                                        Vehicle v = current.next();
+                                        if (all.get(part).matches(v) && !matchedEarlier(v)) return v;
+                                    }
+                                    if (++part == sources.size()) return null;
+                                    current = sources.get(part).iterator(null);
+                                }
+                            }
+                            private boolean matchedEarlier(Vehicle v) {
+                                for (int i = 0; i < part; i++) {
+                                    if (all.get(i).matches(v)) return true;
+                                }
+                                return false;
+                            }
+                            @Override
+                            public boolean hasNext() {
+                                return next != null;
+                            }
+                            @Override
+                            public Vehicle next() {
+                                if (next == null) throw new NoSuchElementException();
+                                Vehicle v = next;
+                                next = advance();
+                                return v;
+                            }
+                        };
+                    }
+                    @Override
+                    String markAfter(Vehicle v) {
+                        int part = 0;
+                        while (part < all.size() - 1 && !all.get(part).matches(v)) part++;
+                        return Integer.toHexString(part) + "/" + sources.get(part).markAfter(v);
+                    }
+                };
+            }
+            @Override
+            public String toString() {
+                return join(all, " OR ");
+            }
+        };
+    }
+    private static List<FleetQuery> parts(FleetQuery[] parts) {
+        if (parts == null || parts.length == 0) throw new IllegalArgumentException("At least one query is required");
+        for (FleetQuery q : parts) {
+            if (q == null) throw new IllegalArgumentException("Query cannot be null");
+        }
+        return List.of(parts);
+    }
+    private static int commaIn(String mark) {
+        int comma = mark.indexOf(',');
+        if (comma < 0) throw malformed(mark);
+        return comma;
+    }
+    private static int slashIn(String mark) {
+        int slash = mark.indexOf('/');
+        if (slash < 0) throw malformed(mark);
+        return slash;
+    }
+    private static int partIn(String mark, int slash, int parts) {
+        int part = (int) parseHex(mark.substring(0, slash));
+        if (part < 0 || part >= parts) throw malformed(mark);
+        return part;
+    }
+    private static long parseHex(String s) {
+        try {
+            return Long.parseUnsignedLong(s, 16);
+        } catch (NumberFormatException e) {
+            throw malformed(s);
+        }
+    }
+    private static byte[] decode(String s) {
+        try {
+            return Base64.getUrlDecoder().decode(s);
+        } catch (IllegalArgumentException e) {
+            throw malformed(s);
+        }
+    }
+    private static IllegalArgumentException malformed(String mark) {
+        return new IllegalArgumentException("Malformed continuation token: " + mark);
+    }
+    private static String join(List<FleetQuery> parts, String operator) {
+        StringJoiner joined = new StringJoiner(operator, "(", ")");
+        for (FleetQuery q : parts) joined.add(q.toString());
+        return joined.toString();
+    }
+}
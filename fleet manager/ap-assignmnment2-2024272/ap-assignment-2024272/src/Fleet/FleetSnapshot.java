@@ -0,0 +1,152 @@
+package Fleet;
+import Exceptions.FileOperationException;
+import Exceptions.InvalidOperationException;
+import Vehicles.*;
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+public class FleetSnapshot {
+    public static final int MAGIC = 0x464C5453; // "FLTS"
+    public static final int VERSION = 1;
+    private static final int NO_MODEL = -1;
+    private static final int BUFFER_SIZE = 1 << 16;
+    // Writes through a temporary file renamed over the target once it is on disk.
+    public static long write(Collection<Vehicle> vehicles, File file) throws FileOperationException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new FileOperationException("Unable to create directory: " + parent.getAbsolutePath());
+        }
+        Map<String, Integer> modelCodes = new LinkedHashMap<>();
+        for (Vehicle v : vehicles) {
+            if (v.getModel() != null) modelCodes.putIfAbsent(v.getModel(), modelCodes.size());
+        }
+        File temp = new File(file.getPath() + "." + Long.toHexString(System.nanoTime()) + ".tmp");
+        try {
+            try (FileOutputStream stream = new FileOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, BUFFER_SIZE))) {
+                out.writeInt(MAGIC);
+                out.writeShort(VERSION);
+                out.writeInt(modelCodes.size());
+                for (String model : modelCodes.keySet()) {
+                    writeString(out, model);
+                }
+                out.writeInt(vehicles.size());
+                for (Vehicle v : vehicles) {
+                    writeVehicle(out, v, modelCodes);
+                }
+                out.flush();
+                stream.getChannel().force(true);
+            }
+            try {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IllegalArgumentException | IOException e) {
+            temp.delete();
+            throw new FileOperationException("Error writing snapshot: " + e.getMessage(), e);
+        }
+        return file.length();
+    }
+    public static List<Vehicle> read(File file) throws FileOperationException {
+        if (!file.exists()) {
+            throw new FileOperationException("File not found: " + file.getPath());
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new FileOperationException("Snapshot too large to map: " + file.getPath());
+            }
+            ByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (in.remaining() < 6 || in.getInt() != MAGIC) {
+                throw new FileOperationException("Not a fleet snapshot: " + file.getPath());
+            }
+            int version = in.getShort();
+            if (version != VERSION) {
+                throw new FileOperationException("Unsupported snapshot version " + version + ": " + file.getPath());
+            }
+            String[] models = new String[in.getInt()];
+            for (int i = 0; i < models.length; i++) {
+                models[i] = readString(in);
+            }
+            int count = in.getInt();
+            List<Vehicle> vehicles = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                vehicles.add(readVehicle(in, models));
+            }
+            return vehicles;
+        } catch (InvalidOperationException | BufferUnderflowException | IllegalArgumentException e) {
+            throw new FileOperationException("Corrupt snapshot " + file.getPath() + ": " + e.getMessage(), e);
+        } catch (IOException e) {
+            throw new FileOperationException("Error reading snapshot: " + e.getMessage(), e);
+        }
+    }
+    // With a null modelCodes map the model is written inline instead of as a dictionary code.
+    public static void writeVehicle(DataOutput out, Vehicle v, Map<String, Integer> modelCodes) throws IOException {
+        VehicleType type = typeOf(v);
+        out.writeByte(type.getTag());
+        writeString(out, v.getId());
+        if (modelCodes == null) {
+            out.writeBoolean(v.getModel() != null);
+            if (v.getModel() != null) writeString(out, v.getModel());
+        } else {
+            out.writeInt(v.getModel() == null ? NO_MODEL : modelCodes.get(v.getModel()));
+        }
+        out.writeDouble(v.getMaxSpeed());
+        out.writeDouble(v.getCurrentMileage());
+        type.writeState(out, v);
+    }
+    public static Vehicle readVehicle(ByteBuffer in, String[] models) throws InvalidOperationException {
+        byte tag = in.get();
+        String id = readString(in);
+        String model;
+        if (models == null) {
+            model = in.get() != 0 ? readString(in) : null;
+        } else {
+            int code = in.getInt();
+            if (code != NO_MODEL && (code < 0 || code >= models.length)) {
+                throw new InvalidOperationException("Bad model code " + code + " for vehicle " + id);
+            }
+            model = code == NO_MODEL ? null : models[code];
+        }
+        VehicleType type = VehicleTypes.byTag(tag);
+        if (type == null) {
+            throw new InvalidOperationException("Unknown vehicle tag " + tag + " for vehicle " + id);
+        }
+        VehicleBuilder b = new VehicleBuilder().id(id).model(model).maxSpeed(in.getDouble()).mileage(in.getDouble());
+        type.readState(in, b);
+        return type.build(b);
+    }
+    static void writeString(DataOutput out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+    static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0 || length > in.remaining()) {
+            throw new IllegalArgumentException("Bad string length " + length);
+        }
+        if (in.hasArray()) {
+            String s = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+            return s;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    static VehicleType typeOf(Vehicle v) {
+        VehicleType type = VehicleTypes.of(v);
+        if (type == null) {
+            throw new IllegalArgumentException("Unregistered vehicle type: " + v.getClass().getName());
+        }
+        return type;
+    }
+}
\ No newline at end of file
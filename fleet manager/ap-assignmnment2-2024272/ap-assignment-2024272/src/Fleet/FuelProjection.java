@@ -0,0 +1,103 @@
+package Fleet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+public class FuelProjection {
+    public static class TypeBreakdown {
+        private final String type;
+        private final int vehicles;
+        private final double distance;
+        private final double fuel;
+        public TypeBreakdown(String type, int vehicles, double distance, double fuel) {
+            this.type = type;
+            this.vehicles = vehicles;
+            this.distance = distance;
+            this.fuel = fuel;
+        }
+        public String getType() {
+            return type;
+        }
+        public int getVehicles() {
+            return vehicles;
+        }
+        public double getDistance() {
+            return distance;
+        }
+        public double getFuel() {
+            return fuel;
+        }
+        @Override
+        public String toString() {
+            return type + ": " + vehicles + " vehicles, " + distance + " km, " + fuel + " L";
+        }
+    }
+    public static class Shortfall {
+        private final String vehicleId;
+        private final double needed;
+        private final double available;
+        public Shortfall(String vehicleId, double needed, double available) {
+            this.vehicleId = vehicleId;
+            this.needed = needed;
+            this.available = available;
+        }
+        public String getVehicleId() {
+            return vehicleId;
+        }
+        public double getNeeded() {
+            return needed;
+        }
+        public double getAvailable() {
+            return available;
+        }
+        public double getMissing() {
+            return needed - available;
+        }
+        @Override
+        public String toString() {
+            return vehicleId + ": needs " + needed + " L, has " + available + " L";
+        }
+    }
+    private final FuelScenario scenario;
+    private final int vehicles;
+    private final double totalFuel;
+    private final double totalDistance;
+    private final Map<String, TypeBreakdown> byType;
+    private final List<Shortfall> shortfalls;
+    public FuelProjection(FuelScenario scenario, int vehicles, double totalFuel, double totalDistance,
+                          Map<String, TypeBreakdown> byType, List<Shortfall> shortfalls) {
+        this.scenario = scenario;
+        this.vehicles = vehicles;
+        this.totalFuel = totalFuel;
+        this.totalDistance = totalDistance;
+        this.byType = Collections.unmodifiableMap(byType);
+        this.shortfalls = Collections.unmodifiableList(shortfalls);
+    }
+    public FuelScenario getScenario() {
+        return scenario;
+    }
+    public int getVehicles() {
+        return vehicles;
+    }
+    // Fuel the whole fleet would need, including vehicles that do not have enough of it.
+    public double getTotalFuel() {
+        return totalFuel;
+    }
+    public double getTotalDistance() {
+        return totalDistance;
+    }
+    public Map<String, TypeBreakdown> getByType() {
+        return byType;
+    }
+    // Vehicles that would run dry, in fleet order.
+    public List<Shortfall> getShortfalls() {
+        return shortfalls;
+    }
+    public boolean isFeasible() {
+        return shortfalls.isEmpty();
+    }
+    @Override
+    public String toString() {
+        return "Scenario " + scenario + ": " + totalFuel + " L over " + totalDistance + " km for " + vehicles
+                + " vehicles, " + shortfalls.size() + " would run dry";
+    }
+}
@@ -0,0 +1,130 @@
+package Fleet;
+import Interfaces.CargoCarrier;
+import Interfaces.FuelConsumable;
+import Vehicles.CargoShip;
+import Vehicles.Vehicle;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+// Projects every scenario in one pass over the fuel-burning vehicles, which are only read.
+class FuelProjector {
+    private static final int LEAF = 1024;
+    private final Vehicle[] vehicles;
+    private final double[] fuel;
+    private final int[] typeSlot;
+    private final String[] typeNames;
+    private final List<FuelScenario> scenarios;
+    // Distance per scenario and type slot, resolved once rather than per vehicle.
+    private final double[][] distances;
+    FuelProjector(Collection<Vehicle> fleet, List<FuelScenario> scenarios) {
+        this.scenarios = scenarios;
+        int n = fleet.size();
+        vehicles = new Vehicle[n];
+        fuel = new double[n];
+        typeSlot = new int[n];
+        Map<Class<?>, Integer> slots = new LinkedHashMap<>();
+        int i = 0;
+        for (Vehicle v : fleet) {
+            vehicles[i] = v;
+            fuel[i] = ((FuelConsumable) v).getFuelLevel();
+            typeSlot[i] = slots.computeIfAbsent(v.getClass(), c -> slots.size());
+            i++;
+        }
+        List<Class<?>> classes = new ArrayList<>(slots.keySet());
+        typeNames = new String[classes.size()];
+        for (int t = 0; t < typeNames.length; t++) typeNames[t] = classes.get(t).getSimpleName();
+        distances = new double[scenarios.size()][classes.size()];
+        for (int s = 0; s < scenarios.size(); s++) {
+            for (int t = 0; t < classes.size(); t++) distances[s][t] = scenarios.get(s).distanceFor(classes.get(t));
+        }
+    }
+    private final class Partial {
+        final double[][] fuelByType = new double[scenarios.size()][typeNames.length];
+        final int[] vehiclesByType = new int[typeNames.length];
+        final List<List<FuelProjection.Shortfall>> shortfalls = new ArrayList<>(Collections.nCopies(scenarios.size(), null));
+        void merge(Partial later) {
+            for (int s = 0; s < fuelByType.length; s++) {
+                for (int t = 0; t < typeNames.length; t++) fuelByType[s][t] += later.fuelByType[s][t];
+                List<FuelProjection.Shortfall> tail = later.shortfalls.get(s);
+                if (tail == null) continue;
+                if (shortfalls.get(s) == null) shortfalls.set(s, tail);
+                else shortfalls.get(s).addAll(tail);
+            }
+            for (int t = 0; t < typeNames.length; t++) vehiclesByType[t] += later.vehiclesByType[t];
+        }
+    }
+    private final class RangeTask extends RecursiveTask<Partial> {
+        private static final long serialVersionUID = 1L;
+        private final int from;
+        private final int to;
+        RangeTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+        @Override
+        protected Partial compute() {
+            if (to - from <= LEAF) return project(from, to);
+            int mid = (from + to) >>> 1;
+            RangeTask right = new RangeTask(mid, to);
+            right.fork();
+            Partial result = new RangeTask(from, mid).compute();
+            result.merge(right.join());
+            return result;
+        }
+    }
+    List<FuelProjection> run(ForkJoinPool pool) {
+        Partial total = vehicles.length <= LEAF ? project(0, vehicles.length) : pool.invoke(new RangeTask(0, vehicles.length));
+        List<FuelProjection> projections = new ArrayList<>(scenarios.size());
+        for (int s = 0; s < scenarios.size(); s++) {
+            Map<String, FuelProjection.TypeBreakdown> byType = new TreeMap<>();
+            double totalFuel = 0;
+            double totalDistance = 0;
+            int count = 0;
+            for (int t = 0; t < typeNames.length; t++) {
+                int n = total.vehiclesByType[t];
+                if (n == 0) continue;
+                double distance = distances[s][t] * n;
+                byType.put(typeNames[t], new FuelProjection.TypeBreakdown(typeNames[t], n, distance, total.fuelByType[s][t]));
+                totalFuel += total.fuelByType[s][t];
+                totalDistance += distance;
+                count += n;
+            }
+            List<FuelProjection.Shortfall> shortfalls = total.shortfalls.get(s);
+            projections.add(new FuelProjection(scenarios.get(s), count, totalFuel, totalDistance, byType,
+                    shortfalls == null ? new ArrayList<>() : shortfalls));
+        }
+        return projections;
+    }
+    private Partial project(int from, int to) {
+        Partial p = new Partial();
+        for (int i = from; i < to; i++) {
+            Vehicle v = vehicles[i];
+            int t = typeSlot[i];
+            p.vehiclesByType[t]++;
+            for (int s = 0; s < distances.length; s++) {
+                double needed = fuelNeeded(v, scenarios.get(s), distances[s][t]);
+                p.fuelByType[s][t] += needed;
+                if (needed > fuel[i]) {
+                    if (p.shortfalls.get(s) == null) p.shortfalls.set(s, new ArrayList<>());
+                    p.shortfalls.get(s).add(new FuelProjection.Shortfall(v.getId(), needed, fuel[i]));
+                }
+            }
+        }
+        return p;
+    }
+    // Same rule as move(): a non-positive efficiency means the vehicle is under sail and burns nothing.
+    private static double fuelNeeded(Vehicle v, FuelScenario scenario, double distance) {
+        double efficiency;
+        if (v instanceof CargoShip && ((CargoShip) v).hasSail()) {
+            efficiency = scenario.isSailing() ? 0.0 : ((CargoShip) v).getEngineFuelEfficiency();
+        } else if (v instanceof CargoCarrier && scenario.getCargoChange() != 0) {
+            CargoCarrier carrier = (CargoCarrier) v;
+            double cargo = carrier.getCurrentCargo();
+            double projected = Math.max(0.0, Math.min(carrier.getCargoCapacity(), cargo + scenario.getCargoChange()));
+            efficiency = v.projectedFuelEfficiency(projected - cargo);
+        } else {
+            efficiency = v.calculateFuelEfficiency();
+        }
+        return efficiency > 0 ? distance / efficiency : 0.0;
+    }
+}
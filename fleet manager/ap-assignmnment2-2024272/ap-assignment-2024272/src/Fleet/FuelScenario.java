@@ -0,0 +1,58 @@
+package Fleet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+// A what-if for projectFuel: distance per kind of vehicle, cargo changes and sail use.
+public class FuelScenario {
+    private final String name;
+    private final double distance;
+    private final Map<Class<?>, Double> distances = new LinkedHashMap<>();
+    private double cargoChange;
+    private boolean sailing = true;
+    public FuelScenario(String name, double distance) {
+        if (distance < 0) throw new IllegalArgumentException("Distance cannot be negative");
+        this.name = name;
+        this.distance = distance;
+    }
+    // Overrides the distance for a vehicle class, abstract superclass or interface; the most specific class wins.
+    public FuelScenario withDistance(Class<?> type, double km) {
+        if (km < 0) throw new IllegalArgumentException("Distance cannot be negative");
+        distances.put(type, km);
+        return this;
+    }
+    // Added to (or, when negative, taken from) every cargo carrier's load, kept within its capacity.
+    public FuelScenario withCargoChange(double kg) {
+        this.cargoChange = kg;
+        return this;
+    }
+    // With sails off, ships that have one are projected on their engine instead.
+    public FuelScenario withSails(boolean sailing) {
+        this.sailing = sailing;
+        return this;
+    }
+    public String getName() {
+        return name;
+    }
+    public double getDistance() {
+        return distance;
+    }
+    public double getCargoChange() {
+        return cargoChange;
+    }
+    public boolean isSailing() {
+        return sailing;
+    }
+    public double distanceFor(Class<?> vehicleClass) {
+        for (Class<?> c = vehicleClass; c != null; c = c.getSuperclass()) {
+            Double km = distances.get(c);
+            if (km != null) return km;
+        }
+        for (Map.Entry<Class<?>, Double> e : distances.entrySet()) {
+            if (e.getKey().isAssignableFrom(vehicleClass)) return e.getValue();
+        }
+        return distance;
+    }
+    @Override
+    public String toString() {
+        return name;
+    }
+}
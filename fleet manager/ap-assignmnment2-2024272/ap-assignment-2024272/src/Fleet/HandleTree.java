@@ -0,0 +1,166 @@
+package Fleet;
+import java.util.Arrays;
+// Treap of vehicle handles linked through arrays indexed by handle; a member's order must not change.
+abstract class HandleTree {
+    static final int NONE = -1;
+    // Compares a fixed probe key against the key of a handle in the tree, like compare(probe, handle).
+    interface Probe {
+        int compareTo(int handle);
+    }
+    private int[] left = new int[16];
+    private int[] right = new int[16];
+    private int[] parent = new int[16];
+    private int[] priority = new int[16];
+    private boolean[] present = new boolean[16];
+    private int root = NONE;
+    private int size;
+    private int seed = 0x2545F491;
+    private int modCount;
+    abstract int compare(int a, int b);
+    boolean contains(int handle) {
+        return handle >= 0 && handle < present.length && present[handle];
+    }
+    void insert(int handle) {
+        if (handle >= present.length) grow(handle + 1);
+        if (present[handle]) throw new IllegalStateException("Handle " + handle + " is already in the tree");
+        int p = NONE;
+        boolean toLeft = false;
+        for (int cur = root; cur != NONE; cur = toLeft ? left[cur] : right[cur]) {
+            p = cur;
+            toLeft = compare(handle, cur) < 0;
+        }
+        left[handle] = NONE;
+        right[handle] = NONE;
+        parent[handle] = p;
+        priority[handle] = nextPriority();
+        present[handle] = true;
+        if (p == NONE) root = handle;
+        else if (toLeft) left[p] = handle;
+        else right[p] = handle;
+        while (parent[handle] != NONE && priority[handle] > priority[parent[handle]]) rotateUp(handle);
+        size++;
+        modCount++;
+    }
+    boolean remove(int handle) {
+        if (!contains(handle)) return false;
+        // Rotate the handle down below its higher-priority child until it has at most one child.
+        while (left[handle] != NONE && right[handle] != NONE) {
+            rotateUp(priority[left[handle]] > priority[right[handle]] ? left[handle] : right[handle]);
+        }
+        int child = left[handle] != NONE ? left[handle] : right[handle];
+        replace(handle, child);
+        present[handle] = false;
+        size--;
+        modCount++;
+        return true;
+    }
+    void clear() {
+        Arrays.fill(present, false);
+        root = NONE;
+        size = 0;
+        modCount++;
+    }
+    int size() {
+        return size;
+    }
+    int first() {
+        return root == NONE ? NONE : leftmost(root);
+    }
+    int last() {
+        return root == NONE ? NONE : rightmost(root);
+    }
+    int next(int handle) {
+        if (right[handle] != NONE) return leftmost(right[handle]);
+        int p = parent[handle];
+        while (p != NONE && handle == right[p]) {
+            handle = p;
+            p = parent[p];
+        }
+        return p;
+    }
+    int previous(int handle) {
+        if (left[handle] != NONE) return rightmost(left[handle]);
+        int p = parent[handle];
+        while (p != NONE && handle == left[p]) {
+            handle = p;
+            p = parent[p];
+        }
+        return p;
+    }
+    // The first handle that does not sort before the probe, or NONE.
+    int ceiling(Probe probe) {
+        int best = NONE;
+        for (int cur = root; cur != NONE; ) {
+            if (probe.compareTo(cur) <= 0) {
+                best = cur;
+                cur = left[cur];
+            } else {
+                cur = right[cur];
+            }
+        }
+        return best;
+    }
+    // The last handle that does not sort after the probe, or NONE.
+    int floor(Probe probe) {
+        int best = NONE;
+        for (int cur = root; cur != NONE; ) {
+            if (probe.compareTo(cur) >= 0) {
+                best = cur;
+                cur = right[cur];
+            } else {
+                cur = left[cur];
+            }
+        }
+        return best;
+    }
+    // Changes whenever the tree does, so walkers can fail fast instead of following stale links.
+    int modCount() {
+        return modCount;
+    }
+    private int leftmost(int handle) {
+        while (left[handle] != NONE) handle = left[handle];
+        return handle;
+    }
+    private int rightmost(int handle) {
+        while (right[handle] != NONE) handle = right[handle];
+        return handle;
+    }
+    // Lifts the handle above its parent, keeping the in-order sequence.
+    private void rotateUp(int x) {
+        int p = parent[x];
+        if (x == left[p]) {
+            left[p] = right[x];
+            if (right[x] != NONE) parent[right[x]] = p;
+            right[x] = p;
+        } else {
+            right[p] = left[x];
+            if (left[x] != NONE) parent[left[x]] = p;
+            left[x] = p;
+        }
+        replace(p, x);
+        parent[p] = x;
+    }
+    // Puts the replacement where the handle hangs from its parent.
+    private void replace(int handle, int replacement) {
+        int p = parent[handle];
+        if (p == NONE) root = replacement;
+        else if (left[p] == handle) left[p] = replacement;
+        else right[p] = replacement;
+        if (replacement != NONE) parent[replacement] = p;
+    }
+    private int nextPriority() {
+        int x = seed;
+        x ^= x << 13;
+        x ^= x >>> 17;
+        x ^= x << 5;
+        return seed = x;
+    }
+    private void grow(int minCapacity) {
+        int capacity = Math.max(minCapacity, present.length * 2);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        parent = Arrays.copyOf(parent, capacity);
+        priority = Arrays.copyOf(priority, capacity);
+        present = Arrays.copyOf(present, capacity);
+    }
+}
@@ -0,0 +1,89 @@
+package Fleet;
+import java.util.Arrays;
+// Open-addressing map from vehicle ID to handle, with backward-shift deletion instead of tombstones.
+class IdTable {
+    private static final int MISSING = -1;
+    private String[] keys;
+    private int[] values;
+    private int size;
+    private int mask;
+    IdTable(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(expected, 8) * 2 - 1) << 1;
+        keys = new String[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+    int get(String key) {
+        int i = slot(key);
+        for (String k; (k = keys[i]) != null; i = (i + 1) & mask) {
+            if (k.equals(key)) return values[i];
+        }
+        return MISSING;
+    }
+    // Returns the existing handle and leaves it in place if the key is already present.
+    int putIfAbsent(String key, int value) {
+        int i = slot(key);
+        for (String k; (k = keys[i]) != null; i = (i + 1) & mask) {
+            if (k.equals(key)) return values[i];
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size * 2 > keys.length) resize(keys.length * 2);
+        return MISSING;
+    }
+    int remove(String key) {
+        int i = slot(key);
+        for (String k; (k = keys[i]) != null; i = (i + 1) & mask) {
+            if (k.equals(key)) {
+                int value = values[i];
+                shiftBack(i);
+                size--;
+                return value;
+            }
+        }
+        return MISSING;
+    }
+    void clear() {
+        Arrays.fill(keys, null);
+        size = 0;
+    }
+    int size() {
+        return size;
+    }
+    // Pulls later entries of the probe run into the hole so every key stays reachable from its home slot.
+    private void shiftBack(int hole) {
+        int i = hole;
+        while (true) {
+            i = (i + 1) & mask;
+            String k = keys[i];
+            if (k == null) break;
+            int home = slot(k);
+            // Move k into the hole unless its home lies cyclically in (hole, i].
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = k;
+                values[hole] = values[i];
+                hole = i;
+            }
+        }
+        keys[hole] = null;
+    }
+    private void resize(int capacity) {
+        String[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new String[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            String k = oldKeys[j];
+            if (k == null) continue;
+            int i = slot(k);
+            while (keys[i] != null) i = (i + 1) & mask;
+            keys[i] = k;
+            values[i] = oldValues[j];
+        }
+    }
+    private int slot(String key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,63 @@
+package Fleet;
+import java.util.Collections;
+import java.util.List;
+public class JourneyReport {
+    public static class Failure {
+        private final String vehicleId;
+        private final String reason;
+        private final Exception cause;
+        public Failure(String vehicleId, String reason, Exception cause) {
+            this.vehicleId = vehicleId;
+            this.reason = reason;
+            this.cause = cause;
+        }
+        public String getVehicleId() {
+            return vehicleId;
+        }
+        public String getReason() {
+            return reason;
+        }
+        public Exception getCause() {
+            return cause;
+        }
+        @Override
+        public String toString() {
+            return vehicleId + ": " + reason;
+        }
+    }
+    private final double distance;
+    private final int attempted;
+    private final int moved;
+    private final List<Failure> failures;
+    private final long elapsedNanos;
+    public JourneyReport(double distance, int attempted, int moved, List<Failure> failures, long elapsedNanos) {
+        this.distance = distance;
+        this.attempted = attempted;
+        this.moved = moved;
+        this.failures = Collections.unmodifiableList(failures);
+        this.elapsedNanos = elapsedNanos;
+    }
+    public double getDistance() {
+        return distance;
+    }
+    public int getAttempted() {
+        return attempted;
+    }
+    public int getMoved() {
+        return moved;
+    }
+    public List<Failure> getFailures() {
+        return failures;
+    }
+    public boolean isSuccessful() {
+        return failures.isEmpty();
+    }
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+    @Override
+    public String toString() {
+        return "Journeys of " + distance + " km: " + moved + "/" + attempted + " moved, "
+                + failures.size() + " failed";
+    }
+}
@@ -0,0 +1,95 @@
+package Fleet;
+import Interfaces.Maintainable;
+import Vehicles.MaintenancePolicy;
+import Vehicles.Vehicle;
+import java.util.*;
+// Maintainable vehicles, scheduled ones first, then by kilometres left before their threshold, then by ID.
+public class MaintenanceIndex {
+    private Vehicle[] vehicles = new Vehicle[16];
+    private boolean[] scheduled = new boolean[16];
+    private double[] remaining = new double[16];
+    private final HandleTree order = new HandleTree() {
+        @Override
+        int compare(int a, int b) {
+            if (scheduled[a] != scheduled[b]) return scheduled[a] ? -1 : 1;
+            int c = Double.compare(remaining[a], remaining[b]);
+            return c != 0 ? c : vehicles[a].getId().compareTo(vehicles[b].getId());
+        }
+    };
+    private int dueCount;
+    public synchronized void add(int handle, Vehicle v) {
+        if (!(v instanceof Maintainable)) return;
+        if (handle >= vehicles.length) grow(handle + 1);
+        vehicles[handle] = v;
+        place(handle);
+    }
+    public synchronized void remove(int handle) {
+        if (!order.contains(handle)) return;
+        order.remove(handle);
+        if (isDue(handle)) dueCount--;
+        vehicles[handle] = null;
+    }
+    // Re-keys the vehicle after its mileage or maintenance flag changed; true if it has just become due.
+    public synchronized boolean update(int handle) {
+        if (!order.contains(handle)) return false;
+        boolean wasDue = isDue(handle);
+        order.remove(handle);
+        if (wasDue) dueCount--;
+        return place(handle) && !wasDue;
+    }
+    public synchronized void clear() {
+        order.clear();
+        Arrays.fill(vehicles, null);
+        dueCount = 0;
+    }
+    // Re-keys every entry, for when the thresholds themselves changed.
+    public synchronized void rebuild() {
+        order.clear();
+        dueCount = 0;
+        for (int h = 0; h < vehicles.length; h++) {
+            if (vehicles[h] != null) place(h);
+        }
+    }
+    private boolean place(int handle) {
+        Vehicle v = vehicles[handle];
+        scheduled[handle] = ((Maintainable) v).isMaintenanceScheduled();
+        remaining[handle] = MaintenancePolicy.remainingKm(v);
+        order.insert(handle);
+        boolean due = isDue(handle);
+        if (due) dueCount++;
+        return due;
+    }
+    private boolean isDue(int handle) {
+        return scheduled[handle] || remaining[handle] < 0;
+    }
+    public synchronized int dueCount() {
+        return dueCount;
+    }
+    public synchronized List<Vehicle> dueNow() {
+        List<Vehicle> due = new ArrayList<>(dueCount);
+        for (int h = order.first(); h != HandleTree.NONE && isDue(h); h = order.next(h)) {
+            due.add(vehicles[h]);
+        }
+        return due;
+    }
+    // Vehicles that are already due or will be within the given distance, most urgent first.
+    public synchronized List<Vehicle> dueWithin(double km) {
+        List<Vehicle> due = new ArrayList<>();
+        for (int h = order.first(); h != HandleTree.NONE && (scheduled[h] || remaining[h] <= km); h = order.next(h)) {
+            due.add(vehicles[h]);
+        }
+        return due;
+    }
+    public synchronized double remainingKm(int handle) {
+        return order.contains(handle) ? remaining[handle] : Double.NaN;
+    }
+    public synchronized int size() {
+        return order.size();
+    }
+    private void grow(int minCapacity) {
+        int capacity = Math.max(minCapacity, vehicles.length * 2);
+        vehicles = Arrays.copyOf(vehicles, capacity);
+        scheduled = Arrays.copyOf(scheduled, capacity);
+        remaining = Arrays.copyOf(remaining, capacity);
+    }
+}
@@ -0,0 +1,443 @@
+package Fleet;
+import Exceptions.FileOperationException;
+import Exceptions.InvalidOperationException;
+import Interfaces.CargoCarrier;
+import Interfaces.FuelConsumable;
+import Interfaces.Maintainable;
+import Interfaces.PassengerCarrier;
+import Vehicles.*;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+// Vehicles as fixed-width records in a segmented memory-mapped file; get() returns write-through flyweights.
+public class MappedVehicleStore implements Closeable {
+    public static final int MAGIC = 0x464C544D; // "FLTM"
+    public static final int VERSION = 1;
+    public static final int RECORD_SIZE = 256;
+    public static final int MAX_ID_BYTES = 94;
+    public static final int MAX_MODEL_BYTES = 102;
+    private static final int HEADER_SIZE = 64;
+    private static final int SEGMENT_RECORDS = 1 << 16;
+    private static final long SEGMENT_BYTES = (long) SEGMENT_RECORDS * RECORD_SIZE;
+    private static final int NO_SLOT = -1;
+    // Header layout.
+    private static final int H_MAGIC = 0;
+    private static final int H_VERSION = 4;
+    private static final int H_RECORD_SIZE = 6;
+    private static final int H_ISSUED = 8;
+    private static final int H_FREE_HEAD = 12;
+    // Record layout. A free record reuses R_WHEELS to link to the next free record.
+    private static final int R_STATUS = 0;
+    private static final int R_TAG = 1;
+    private static final int R_FLAGS = 2;
+    private static final int R_WHEELS = 4;
+    private static final int R_MAX_SPEED = 8;
+    private static final int R_MILEAGE = 16;
+    private static final int R_FUEL = 24;
+    private static final int R_CARGO = 32;
+    private static final int R_PASSENGERS = 40;
+    // Maximum altitude for an air vehicle, last service mileage for a car.
+    private static final int R_EXTRA = 48;
+    private static final int R_ID = 56;
+    private static final int R_MODEL = R_ID + 2 + MAX_ID_BYTES;
+    private static final byte LIVE = 1;
+    private static final int FLAG_MAINTENANCE = 1;
+    private static final int FLAG_SAIL = 2;
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private final IdTable ids = new IdTable(1024);
+    private final RecordWriter writer = new RecordWriter();
+    private WeakReference<Vehicle>[] materialized;
+    private final Vehicle[] recent;
+    private int recentNext;
+    private int issued;
+    private int freeHead;
+    private int size;
+    private boolean closed;
+    private boolean backing;
+    public static MappedVehicleStore open(Path path) throws FileOperationException {
+        return open(path, 1024);
+    }
+    // Creates the file if it does not exist; recentCapacity is how many materialized vehicles are kept alive.
+    public static MappedVehicleStore open(Path path, int recentCapacity) throws FileOperationException {
+        try {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                return new MappedVehicleStore(path, channel, Math.max(recentCapacity, 1));
+            } catch (FileOperationException | IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new FileOperationException("Error opening vehicle store " + path + ": " + e.getMessage(), e);
+        }
+    }
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private MappedVehicleStore(Path path, FileChannel channel, int recentCapacity) throws IOException, FileOperationException {
+        this.path = path;
+        this.channel = channel;
+        this.recent = new Vehicle[recentCapacity];
+        boolean fresh = channel.size() == 0;
+        header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        if (fresh) {
+            header.putInt(H_MAGIC, MAGIC);
+            header.putShort(H_VERSION, (short) VERSION);
+            header.putShort(H_RECORD_SIZE, (short) RECORD_SIZE);
+            header.putInt(H_ISSUED, 0);
+            header.putInt(H_FREE_HEAD, NO_SLOT);
+        } else if (header.getInt(H_MAGIC) != MAGIC) {
+            throw new FileOperationException("Not a vehicle store: " + path);
+        } else if (header.getShort(H_VERSION) != VERSION || header.getShort(H_RECORD_SIZE) != RECORD_SIZE) {
+            throw new FileOperationException("Unsupported vehicle store version " + header.getShort(H_VERSION) + ": " + path);
+        }
+        issued = header.getInt(H_ISSUED);
+        freeHead = header.getInt(H_FREE_HEAD);
+        materialized = new WeakReference[Math.max(issued, 16)];
+        byte[] scratch = new byte[MAX_ID_BYTES];
+        for (int slot = 0; slot < issued; slot++) {
+            MappedByteBuffer segment = segmentFor(slot);
+            int at = offsetOf(slot);
+            if (segment.get(at + R_STATUS) != LIVE) continue;
+            if (ids.putIfAbsent(readText(segment, at + R_ID, scratch), slot) != NO_SLOT) {
+                throw new FileOperationException("Corrupt vehicle store " + path + ": duplicate ID in record " + slot);
+            }
+            size++;
+        }
+    }
+    // Copies the vehicle into a new record; the vehicle itself stays detached.
+    public synchronized void add(Vehicle v) throws InvalidOperationException, FileOperationException {
+        ensureDirectAccess();
+        insert(v);
+    }
+    private void insert(Vehicle v) throws InvalidOperationException, FileOperationException {
+        byte[] id = encode(v.getId(), MAX_ID_BYTES, "ID");
+        byte[] model = v.getModel() == null ? null : encode(v.getModel(), MAX_MODEL_BYTES, "Model");
+        if (ids.get(v.getId()) != NO_SLOT) {
+            throw new InvalidOperationException("Duplicate ID: " + v.getId());
+        }
+        int slot = allocate();
+        MappedByteBuffer segment = segmentFor(slot);
+        int at = offsetOf(slot);
+        segment.put(at + R_TAG, (byte) FleetSnapshot.typeOf(v).getTag());
+        putText(segment, at + R_ID, id);
+        putText(segment, at + R_MODEL, model);
+        segment.putDouble(at + R_MAX_SPEED, v.getMaxSpeed());
+        segment.putInt(at + R_WHEELS, v instanceof LandVehicle ? ((LandVehicle) v).getNumWheels() : 0);
+        writeState(segment, at, v);
+        segment.put(at + R_STATUS, LIVE);
+        ids.putIfAbsent(v.getId(), slot);
+        size++;
+    }
+    // Rewrites a record from the vehicle; a flyweight materialized earlier for it is cut loose.
+    public synchronized void update(Vehicle v) throws InvalidOperationException {
+        ensureDirectAccess();
+        int slot = ids.get(v.getId());
+        if (slot == NO_SLOT) {
+            throw new InvalidOperationException("Vehicle with ID " + v.getId() + " not found.");
+        }
+        overwrite(slot, v);
+    }
+    // Adds the vehicle, or refreshes its record like update() if the ID is already stored as the same type.
+    public synchronized void put(Vehicle v) throws InvalidOperationException, FileOperationException {
+        ensureDirectAccess();
+        upsert(v);
+    }
+    private void upsert(Vehicle v) throws InvalidOperationException, FileOperationException {
+        int slot = ids.get(v.getId());
+        if (slot != NO_SLOT && segmentFor(slot).get(offsetOf(slot) + R_TAG) == FleetSnapshot.typeOf(v).getTag()) {
+            overwrite(slot, v);
+            return;
+        }
+        if (slot != NO_SLOT) delete(v.getId());
+        insert(v);
+    }
+    private void overwrite(int slot, Vehicle v) {
+        if (cached(slot) != v) release(slot);
+        writeState(segmentFor(slot), offsetOf(slot), v);
+    }
+    public synchronized boolean remove(String id) {
+        ensureDirectAccess();
+        return delete(id);
+    }
+    private boolean delete(String id) {
+        int slot = ids.remove(id);
+        if (slot == NO_SLOT) return false;
+        release(slot);
+        MappedByteBuffer segment = segmentFor(slot);
+        int at = offsetOf(slot);
+        segment.put(at + R_STATUS, (byte) 0);
+        segment.putInt(at + R_WHEELS, freeHead);
+        freeHead = slot;
+        header.putInt(H_FREE_HEAD, freeHead);
+        size--;
+        return true;
+    }
+    // The vehicle for the ID, materialized on first access, or null if the store has no such record.
+    public synchronized Vehicle get(String id) throws FileOperationException {
+        ensureDirectAccess();
+        int slot = ids.get(id);
+        if (slot == NO_SLOT) return null;
+        Vehicle v = cached(slot);
+        if (v == null) {
+            v = materialize(slot);
+            v.setObserver(writer);
+            if (slot >= materialized.length) materialized = Arrays.copyOf(materialized, Math.max(slot + 1, materialized.length * 2));
+            materialized[slot] = new WeakReference<>(v);
+            recent[recentNext] = v;
+            recentNext = (recentNext + 1) % recent.length;
+        }
+        return v;
+    }
+    public synchronized boolean contains(String id) {
+        return ids.get(id) != NO_SLOT;
+    }
+    public synchronized int size() {
+        return size;
+    }
+    // Detached copies of every stored vehicle in record order; changes to them are not written back.
+    public synchronized List<Vehicle> readAll() throws FileOperationException {
+        ensureOpen();
+        List<Vehicle> vehicles = new ArrayList<>(size);
+        for (int slot = 0; slot < issued; slot++) {
+            if (segmentFor(slot).get(offsetOf(slot) + R_STATUS) == LIVE) vehicles.add(materialize(slot));
+        }
+        return vehicles;
+    }
+    // Visits every stored ID in record order without materializing any vehicle.
+    public synchronized void forEachId(Consumer<String> action) {
+        ensureOpen();
+        byte[] scratch = new byte[MAX_ID_BYTES];
+        for (int slot = 0; slot < issued; slot++) {
+            MappedByteBuffer segment = segmentFor(slot);
+            int at = offsetOf(slot);
+            if (segment.get(at + R_STATUS) == LIVE) action.accept(readText(segment, at + R_ID, scratch));
+        }
+    }
+    public Path getPath() {
+        return path;
+    }
+    // Forces every mapped segment to disk.
+    public synchronized void flush() {
+        ensureOpen();
+        header.force();
+        for (MappedByteBuffer segment : segments) segment.force();
+    }
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) return;
+        flush();
+        releaseAll();
+        closed = true;
+        channel.close();
+    }
+    // Hands the records to a fleet; until released the store changes only through the returned observer.
+    synchronized FleetObserver bind() {
+        ensureOpen();
+        if (backing) throw new IllegalStateException("Vehicle store already backs a fleet: " + path);
+        releaseAll();
+        backing = true;
+        return writer;
+    }
+    synchronized void unbind() {
+        backing = false;
+    }
+    private int allocate() throws FileOperationException {
+        int slot;
+        if (freeHead != NO_SLOT) {
+            slot = freeHead;
+            freeHead = segmentFor(slot).getInt(offsetOf(slot) + R_WHEELS);
+            header.putInt(H_FREE_HEAD, freeHead);
+        } else {
+            slot = issued;
+            if (slot / SEGMENT_RECORDS >= segments.size()) mapSegment(segments.size());
+            issued++;
+            header.putInt(H_ISSUED, issued);
+        }
+        return slot;
+    }
+    private MappedByteBuffer segmentFor(int slot) {
+        int index = slot / SEGMENT_RECORDS;
+        while (index >= segments.size()) {
+            try {
+                mapSegment(segments.size());
+            } catch (FileOperationException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+        return segments.get(index);
+    }
+    private void mapSegment(int index) throws FileOperationException {
+        try {
+            // Mapping past the end of the file in read-write mode extends it.
+            segments.add(channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + index * SEGMENT_BYTES, SEGMENT_BYTES));
+        } catch (IOException e) {
+            throw new FileOperationException("Error growing vehicle store " + path + ": " + e.getMessage(), e);
+        }
+    }
+    private static int offsetOf(int slot) {
+        return (slot % SEGMENT_RECORDS) * RECORD_SIZE;
+    }
+    // A reference kept by a caller must not write into the record once it is reused or rewritten.
+    private void release(int slot) {
+        Vehicle stale = cached(slot);
+        if (stale != null && stale.getObserver() == writer) stale.setObserver(null);
+        if (slot < materialized.length) materialized[slot] = null;
+    }
+    private void releaseAll() {
+        for (int slot = 0; slot < materialized.length; slot++) release(slot);
+        Arrays.fill(recent, null);
+    }
+    private Vehicle cached(int slot) {
+        WeakReference<Vehicle> ref = slot < materialized.length ? materialized[slot] : null;
+        return ref == null ? null : ref.get();
+    }
+    private Vehicle materialize(int slot) throws FileOperationException {
+        MappedByteBuffer segment = segmentFor(slot);
+        int at = offsetOf(slot);
+        String id = readText(segment, at + R_ID, new byte[MAX_ID_BYTES]);
+        String model = readText(segment, at + R_MODEL, new byte[MAX_MODEL_BYTES]);
+        int flags = segment.get(at + R_FLAGS);
+        VehicleType type = VehicleTypes.byTag(segment.get(at + R_TAG));
+        if (type == null) {
+            throw new FileOperationException("Corrupt vehicle store " + path + ": unknown vehicle tag in record " + slot);
+        }
+        double extra = segment.getDouble(at + R_EXTRA);
+        VehicleBuilder b = new VehicleBuilder().id(id).model(model)
+                .maxSpeed(segment.getDouble(at + R_MAX_SPEED))
+                .wheels(segment.getInt(at + R_WHEELS))
+                .sail((flags & FLAG_SAIL) != 0)
+                .fuel(segment.getDouble(at + R_FUEL))
+                .cargo(segment.getDouble(at + R_CARGO))
+                .passengers(segment.getInt(at + R_PASSENGERS))
+                .maintenance((flags & FLAG_MAINTENANCE) != 0)
+                .mileage(segment.getDouble(at + R_MILEAGE));
+        if (Car.class.isAssignableFrom(type.getVehicleClass())) b.lastServiceMileage(extra);
+        else if (AirVehicle.class.isAssignableFrom(type.getVehicleClass())) b.altitude(extra);
+        Vehicle v;
+        try {
+            v = type.build(b);
+        } catch (InvalidOperationException e) {
+            throw new FileOperationException("Corrupt vehicle store " + path + ": " + e.getMessage(), e);
+        }
+        return v;
+    }
+    private static void writeState(MappedByteBuffer segment, int at, Vehicle v) {
+        int flags = 0;
+        if (v instanceof Maintainable && ((Maintainable) v).isMaintenanceScheduled()) flags |= FLAG_MAINTENANCE;
+        if (v instanceof WaterVehicle && ((WaterVehicle) v).hasSail()) flags |= FLAG_SAIL;
+        segment.put(at + R_FLAGS, (byte) flags);
+        segment.putDouble(at + R_MILEAGE, v.getCurrentMileage());
+        segment.putDouble(at + R_FUEL, v instanceof FuelConsumable ? ((FuelConsumable) v).getFuelLevel() : 0.0);
+        segment.putDouble(at + R_CARGO, v instanceof CargoCarrier ? ((CargoCarrier) v).getCurrentCargo() : 0.0);
+        segment.putInt(at + R_PASSENGERS, v instanceof PassengerCarrier ? ((PassengerCarrier) v).getCurrentPassengers() : 0);
+        double extra = 0.0;
+        if (v instanceof Car) extra = ((Car) v).getLastServiceMileage();
+        else if (v instanceof AirVehicle) extra = ((AirVehicle) v).getMaxAltitude();
+        segment.putDouble(at + R_EXTRA, extra);
+    }
+    // Writes each reported change straight into the vehicle's record.
+    private class RecordWriter implements FleetObserver {
+        @Override
+        public void onVehicleAdded(Vehicle v) {
+            synchronized (MappedVehicleStore.this) {
+                ensureOpen();
+                try {
+                    upsert(v);
+                } catch (InvalidOperationException | FileOperationException e) {
+                    throw new IllegalStateException("Error writing " + v.getId() + " to " + path + ": " + e.getMessage(), e);
+                }
+            }
+        }
+        @Override
+        public void onVehicleRemoved(Vehicle v) {
+            synchronized (MappedVehicleStore.this) {
+                if (!closed) delete(v.getId());
+            }
+        }
+        @Override
+        public void onMileageChanged(Vehicle v, double oldMileage, double newMileage) {
+            putDouble(v, R_MILEAGE, newMileage);
+        }
+        @Override
+        public void onFuelChanged(Vehicle v, double oldLevel, double newLevel) {
+            putDouble(v, R_FUEL, newLevel);
+        }
+        @Override
+        public void onCargoChanged(Vehicle v, double oldCargo, double newCargo) {
+            putDouble(v, R_CARGO, newCargo);
+        }
+        @Override
+        public void onPassengersChanged(Vehicle v, int oldCount, int newCount) {
+            synchronized (MappedVehicleStore.this) {
+                int slot = slotOf(v);
+                if (slot != NO_SLOT) segmentFor(slot).putInt(offsetOf(slot) + R_PASSENGERS, newCount);
+            }
+        }
+        @Override
+        public void onMaintenanceChanged(Vehicle v, boolean oldScheduled, boolean newScheduled) {
+            synchronized (MappedVehicleStore.this) {
+                int slot = slotOf(v);
+                if (slot == NO_SLOT) return;
+                MappedByteBuffer segment = segmentFor(slot);
+                int at = offsetOf(slot) + R_FLAGS;
+                int flags = segment.get(at);
+                segment.put(at, (byte) (newScheduled ? flags | FLAG_MAINTENANCE : flags & ~FLAG_MAINTENANCE));
+            }
+        }
+        @Override
+        public void onServiceMileageChanged(Vehicle v, double oldMileage, double newMileage) {
+            putDouble(v, R_EXTRA, newMileage);
+        }
+        private void putDouble(Vehicle v, int field, double value) {
+            synchronized (MappedVehicleStore.this) {
+                int slot = slotOf(v);
+                if (slot != NO_SLOT) segmentFor(slot).putDouble(offsetOf(slot) + field, value);
+            }
+        }
+        private int slotOf(Vehicle v) {
+            return closed ? NO_SLOT : ids.get(v.getId());
+        }
+    }
+    private void ensureOpen() {
+        if (closed) throw new IllegalStateException("Vehicle store is closed: " + path);
+    }
+    private void ensureDirectAccess() {
+        ensureOpen();
+        if (backing) throw new IllegalStateException("Vehicle store backs a fleet; change it through the fleet: " + path);
+    }
+    private static byte[] encode(String s, int max, String what) throws InvalidOperationException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > max) {
+            throw new InvalidOperationException(what + " too long for a store record (" + bytes.length + " > " + max + " bytes): " + s);
+        }
+        return bytes;
+    }
+    // Text fields are a length (-1 for null) followed by UTF-8 bytes.
+    private static void putText(MappedByteBuffer segment, int at, byte[] bytes) {
+        segment.putShort(at, (short) (bytes == null ? -1 : bytes.length));
+        if (bytes == null) return;
+        ByteBuffer view = segment.duplicate();
+        view.position(at + 2);
+        view.put(bytes);
+    }
+    private static String readText(MappedByteBuffer segment, int at, byte[] scratch) {
+        int length = segment.getShort(at);
+        if (length < 0) return null;
+        ByteBuffer view = segment.duplicate();
+        view.position(at + 2);
+        view.get(scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,117 @@
+package Fleet;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+public class ParallelCsvImport {
+    private static final long MIN_CHUNK = 1L << 20;
+    private static final long MAX_CHUNK = 1L << 28;
+    private final ForkJoinPool pool;
+    public ParallelCsvImport(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+    // Parses the file in line-aligned chunks; the outer list is in file order, one entry per chunk.
+    public List<List<CsvRowMapper.ParsedRow>> parse(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) return Collections.emptyList();
+            long[] bounds = splitAtLines(channel, size);
+            int chunks = bounds.length - 1;
+            List<List<CsvRowMapper.ParsedRow>> results = new ArrayList<>(Collections.nCopies(chunks, null));
+            try {
+                pool.invoke(new ChunkTask(channel, bounds, results, 0, chunks));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return results;
+        }
+    }
+    private long[] splitAtLines(FileChannel channel, long size) throws IOException {
+        long target = size / (Math.max(pool.getParallelism(), 1) * 4L);
+        long chunkSize = Math.min(Math.max(target, MIN_CHUNK), MAX_CHUNK);
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        ByteBuffer probe = ByteBuffer.allocate(8192);
+        long start = 0;
+        while (start < size) {
+            long next = start + chunkSize;
+            if (next >= size) {
+                next = size;
+            } else {
+                next = nextLineStart(channel, next, size, probe);
+            }
+            bounds.add(next);
+            start = next;
+        }
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) result[i] = bounds.get(i);
+        return result;
+    }
+    private static long nextLineStart(FileChannel channel, long from, long size, ByteBuffer probe) throws IOException {
+        long pos = from;
+        while (pos < size) {
+            probe.clear();
+            int n = channel.read(probe, pos);
+            if (n <= 0) break;
+            for (int i = 0; i < n; i++) {
+                if (probe.get(i) == '\n') return pos + i + 1;
+            }
+            pos += n;
+        }
+        return size;
+    }
+    private static class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final FileChannel channel;
+        private final long[] bounds;
+        private final List<List<CsvRowMapper.ParsedRow>> results;
+        private final int from;
+        private final int to;
+        ChunkTask(FileChannel channel, long[] bounds, List<List<CsvRowMapper.ParsedRow>> results, int from, int to) {
+            this.channel = channel;
+            this.bounds = bounds;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ChunkTask(channel, bounds, results, from, mid),
+                          new ChunkTask(channel, bounds, results, mid, to));
+                return;
+            }
+            try {
+                results.set(from, parseChunk(from));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        private List<CsvRowMapper.ParsedRow> parseChunk(int chunk) throws IOException {
+            long start = bounds[chunk];
+            int length = (int) (bounds[chunk + 1] - start);
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            List<CsvRowMapper.ParsedRow> parsed = new ArrayList<>();
+            CsvRow row = new CsvRow();
+            int lineStart = 0;
+            for (int i = 0; i <= length; i++) {
+                if (i == length ? i > lineStart : buf.get(i) == '\n') {
+                    row.parse(buf, lineStart, i);
+                    CsvRowMapper.ParsedRow p = CsvRowMapper.parse(row, start == 0 && lineStart == 0);
+                    if (p != null) parsed.add(p);
+                    lineStart = i + 1;
+                }
+            }
+            return parsed;
+        }
+    }
+}
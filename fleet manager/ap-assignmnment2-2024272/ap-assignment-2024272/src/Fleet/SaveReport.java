@@ -0,0 +1,43 @@
+package Fleet;
+// Outcome of one CSV save; the snapshot time is how long the caller was held up.
+public class SaveReport {
+    private final String filename;
+    private final int vehicles;
+    private final int encodedRows;
+    private final long bytesWritten;
+    private final long snapshotNanos;
+    private final long elapsedNanos;
+    public SaveReport(String filename, int vehicles, int encodedRows, long bytesWritten, long snapshotNanos, long elapsedNanos) {
+        this.filename = filename;
+        this.vehicles = vehicles;
+        this.encodedRows = encodedRows;
+        this.bytesWritten = bytesWritten;
+        this.snapshotNanos = snapshotNanos;
+        this.elapsedNanos = elapsedNanos;
+    }
+    public String getFilename() {
+        return filename;
+    }
+    public int getVehicles() {
+        return vehicles;
+    }
+    // Rows re-encoded because their vehicles changed since the previous save.
+    public int getEncodedRows() {
+        return encodedRows;
+    }
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+    public long getSnapshotNanos() {
+        return snapshotNanos;
+    }
+    // From the request to the file being renamed into place.
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+    @Override
+    public String toString() {
+        return String.format("Saved %d vehicles to %s: %d bytes in %.1f ms (%.2f ms snapshot, %d rows re-encoded)",
+                vehicles, filename, bytesWritten, elapsedNanos / 1e6, snapshotNanos / 1e6, encodedRows);
+    }
+}
@@ -0,0 +1,243 @@
+package Fleet;
+import Vehicles.Vehicle;
+import java.util.*;
+import java.util.function.DoublePredicate;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+// Vehicles ordered by one key; equal keys keep the order they were indexed in, as a stable sort would.
+public abstract class SortedIndex {
+    // Keys held as primitive doubles, compared like Double.compare.
+    public static final class OfDouble extends SortedIndex {
+        private final ToDoubleFunction<Vehicle> keyOf;
+        private double[] keys = new double[16];
+        public OfDouble(ToDoubleFunction<Vehicle> keyOf, boolean descending) {
+            super(descending);
+            this.keyOf = keyOf;
+        }
+        // Ascending from the first key >= from, while keys satisfy the condition.
+        public synchronized Iterator<Vehicle> ascendingFrom(double from, DoublePredicate continueWhile) {
+            int start = ceiling(h -> Double.compare(from, keys[h]));
+            return iterator(start, h -> continueWhile.test(keys[h]));
+        }
+        // Ascending from just after the given key and sequence number; see sequenceOf.
+        public synchronized Iterator<Vehicle> ascendingAfter(double key, long seq, DoublePredicate continueWhile) {
+            int start = after(h -> Double.compare(key, keys[h]), seq);
+            return iterator(start, h -> continueWhile.test(keys[h]));
+        }
+        @Override
+        boolean sameKey(int handle, Vehicle v) {
+            return Double.compare(keyOf.applyAsDouble(v), keys[handle]) == 0;
+        }
+        @Override
+        void storeKey(int handle, Vehicle v) {
+            keys[handle] = keyOf.applyAsDouble(v);
+        }
+        @Override
+        int compareKeys(int a, int b) {
+            return Double.compare(keys[a], keys[b]);
+        }
+        @Override
+        void growKeys(int capacity) {
+            keys = Arrays.copyOf(keys, capacity);
+        }
+    }
+    // Keys of any type under the given comparator.
+    public static final class OfKey<K> extends SortedIndex {
+        private final Function<Vehicle, K> keyOf;
+        private final Comparator<? super K> keyOrder;
+        private Object[] keys = new Object[16];
+        public OfKey(Function<Vehicle, K> keyOf, Comparator<? super K> keyOrder, boolean descending) {
+            super(descending);
+            this.keyOf = keyOf;
+            this.keyOrder = keyOrder;
+        }
+        // Ascending from the first key >= from, while keys satisfy the condition.
+        public synchronized Iterator<Vehicle> ascendingFrom(K from, Predicate<? super K> continueWhile) {
+            int start = ceiling(h -> keyOrder.compare(from, key(h)));
+            return iterator(start, h -> continueWhile.test(key(h)));
+        }
+        public synchronized Iterator<Vehicle> ascendingAfter(K key, long seq, Predicate<? super K> continueWhile) {
+            int start = after(h -> keyOrder.compare(key, key(h)), seq);
+            return iterator(start, h -> continueWhile.test(key(h)));
+        }
+        @SuppressWarnings("unchecked")
+        private K key(int handle) {
+            return (K) keys[handle];
+        }
+        @Override
+        boolean sameKey(int handle, Vehicle v) {
+            return Objects.equals(keyOf.apply(v), keys[handle]);
+        }
+        @Override
+        void storeKey(int handle, Vehicle v) {
+            keys[handle] = keyOf.apply(v);
+        }
+        @Override
+        int compareKeys(int a, int b) {
+            return keyOrder.compare(key(a), key(b));
+        }
+        @Override
+        void growKeys(int capacity) {
+            keys = Arrays.copyOf(keys, capacity);
+        }
+        @Override
+        void releaseKey(int handle) {
+            keys[handle] = null;
+        }
+    }
+    private interface HandleCondition {
+        boolean test(int handle);
+    }
+    private final boolean descending;
+    private final HandleTree order;
+    private Vehicle[] vehicles = new Vehicle[16];
+    private long[] seqs = new long[16];
+    private long nextSeq;
+    private int lowest = HandleTree.NONE;
+    private int highest = HandleTree.NONE;
+    // With descending set, ordered() and top() run from the highest key down.
+    SortedIndex(boolean descending) {
+        this.descending = descending;
+        // Ties run opposite to the iteration direction in the tree so the natural view stays stable.
+        this.order = new HandleTree() {
+            @Override
+            int compare(int a, int b) {
+                int c = compareKeys(a, b);
+                if (c != 0) return c;
+                return descending ? Long.compare(seqs[b], seqs[a]) : Long.compare(seqs[a], seqs[b]);
+            }
+        };
+    }
+    abstract boolean sameKey(int handle, Vehicle v);
+    abstract void storeKey(int handle, Vehicle v);
+    abstract int compareKeys(int a, int b);
+    abstract void growKeys(int capacity);
+    void releaseKey(int handle) {
+    }
+    public synchronized void add(int handle, Vehicle v) {
+        if (handle >= vehicles.length) grow(handle + 1);
+        vehicles[handle] = v;
+        seqs[handle] = nextSeq++;
+        storeKey(handle, v);
+        insert(handle);
+    }
+    public synchronized void remove(int handle) {
+        if (!order.contains(handle)) return;
+        delete(handle);
+        vehicles[handle] = null;
+        releaseKey(handle);
+    }
+    // Re-keys the vehicle if its key changed; its position among equal keys is kept.
+    public synchronized void update(int handle) {
+        if (!order.contains(handle)) return;
+        Vehicle v = vehicles[handle];
+        if (sameKey(handle, v)) return;
+        delete(handle);
+        storeKey(handle, v);
+        insert(handle);
+    }
+    public synchronized void clear() {
+        order.clear();
+        Arrays.fill(vehicles, null);
+        for (int h = 0; h < vehicles.length; h++) releaseKey(h);
+        lowest = HandleTree.NONE;
+        highest = HandleTree.NONE;
+    }
+    // The cached extremes prefer the earliest indexed vehicle among equal keys, like a linear scan would.
+    private void insert(int handle) {
+        order.insert(handle);
+        if (lowest == HandleTree.NONE || precedes(handle, lowest, -1)) lowest = handle;
+        if (highest == HandleTree.NONE || precedes(handle, highest, 1)) highest = handle;
+    }
+    private boolean precedes(int handle, int current, int direction) {
+        int c = compareKeys(handle, current) * direction;
+        return c > 0 || (c == 0 && seqs[handle] < seqs[current]);
+    }
+    private void delete(int handle) {
+        order.remove(handle);
+        if (order.size() == 0) {
+            lowest = HandleTree.NONE;
+            highest = HandleTree.NONE;
+        } else {
+            if (handle == lowest) lowest = earliestWithKey(order.first());
+            if (handle == highest) highest = earliestWithKey(order.last());
+        }
+    }
+    private int earliestWithKey(int sample) {
+        HandleTree.Probe probe = h -> {
+            int c = compareKeys(sample, h);
+            if (c != 0) return c;
+            // The probe takes the lowest sequence number, placed as the tree places ties.
+            return descending ? 1 : -1;
+        };
+        return descending ? order.floor(probe) : order.ceiling(probe);
+    }
+    // Probes compare keys only; equal keys count as after the probe, so the walk starts at the first of them.
+    int ceiling(HandleTree.Probe probe) {
+        return order.ceiling(h -> {
+            int c = probe.compareTo(h);
+            return c != 0 ? c : -1;
+        });
+    }
+    // The first entry past the given key and sequence number in tree order.
+    int after(HandleTree.Probe keyProbe, long seq) {
+        return order.ceiling(h -> {
+            int c = keyProbe.compareTo(h);
+            if (c == 0) c = descending ? Long.compare(seqs[h], seq) : Long.compare(seq, seqs[h]);
+            return c != 0 ? c : 1;
+        });
+    }
+    // Orders the entry among equal keys; still meaningful after the entry is removed.
+    public synchronized long sequenceOf(int handle) {
+        if (!order.contains(handle)) throw new IllegalArgumentException("Handle " + handle + " is not indexed");
+        return seqs[handle];
+    }
+    public synchronized Vehicle min() {
+        return lowest == HandleTree.NONE ? null : vehicles[lowest];
+    }
+    public synchronized Vehicle max() {
+        return highest == HandleTree.NONE ? null : vehicles[highest];
+    }
+    public synchronized List<Vehicle> ordered() {
+        return top(order.size());
+    }
+    public synchronized List<Vehicle> top(int k) {
+        List<Vehicle> result = new ArrayList<>(Math.max(0, Math.min(k, order.size())));
+        for (int h = descending ? order.last() : order.first(); result.size() < k && h != HandleTree.NONE;
+             h = descending ? order.previous(h) : order.next(h)) {
+            result.add(vehicles[h]);
+        }
+        return result;
+    }
+    Iterator<Vehicle> iterator(int start, HandleCondition continueWhile) {
+        return new Iterator<Vehicle>() {
+            private final int expected = order.modCount();
+            private int next = start != HandleTree.NONE && continueWhile.test(start) ? start : HandleTree.NONE;
+            @Override
+            public boolean hasNext() {
+                return next != HandleTree.NONE;
+            }
+            @Override
+            public Vehicle next() {
+                synchronized (SortedIndex.this) {
+                    if (order.modCount() != expected) throw new ConcurrentModificationException();
+                    if (next == HandleTree.NONE) throw new NoSuchElementException();
+                    Vehicle v = vehicles[next];
+                    int after = order.next(next);
+                    next = after != HandleTree.NONE && continueWhile.test(after) ? after : HandleTree.NONE;
+                    return v;
+                }
+            }
+        };
+    }
+    public synchronized int size() {
+        return order.size();
+    }
+    private void grow(int minCapacity) {
+        int capacity = Math.max(minCapacity, vehicles.length * 2);
+        vehicles = Arrays.copyOf(vehicles, capacity);
+        seqs = Arrays.copyOf(seqs, capacity);
+        growKeys(capacity);
+    }
+}
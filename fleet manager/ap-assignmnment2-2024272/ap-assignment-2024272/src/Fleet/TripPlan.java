@@ -0,0 +1,57 @@
+package Fleet;
+import Vehicles.Vehicle;
+import java.util.Collections;
+import java.util.List;
+public class TripPlan {
+    public static class Option {
+        private final Vehicle vehicle;
+        private final double hours;
+        private final double fuelNeeded;
+        private final double fuelLeft;
+        public Option(Vehicle vehicle, double hours, double fuelNeeded, double fuelLeft) {
+            this.vehicle = vehicle;
+            this.hours = hours;
+            this.fuelNeeded = fuelNeeded;
+            this.fuelLeft = fuelLeft;
+        }
+        public Vehicle getVehicle() {
+            return vehicle;
+        }
+        public double getHours() {
+            return hours;
+        }
+        public double getFuelNeeded() {
+            return fuelNeeded;
+        }
+        public double getFuelLeft() {
+            return fuelLeft;
+        }
+        @Override
+        public String toString() {
+            return vehicle.getId() + String.format(": %.2f h, %.2f L", hours, fuelNeeded);
+        }
+    }
+    private final TripRequest trip;
+    private final List<Option> options;
+    public TripPlan(TripRequest trip, List<Option> options) {
+        this.trip = trip;
+        this.options = Collections.unmodifiableList(options);
+    }
+    public TripRequest getTrip() {
+        return trip;
+    }
+    // Fastest first; equal times prefer the vehicle burning less fuel, then fleet order.
+    public List<Option> getOptions() {
+        return options;
+    }
+    public Option getBest() {
+        return options.isEmpty() ? null : options.get(0);
+    }
+    public boolean isFeasible() {
+        return !options.isEmpty();
+    }
+    @Override
+    public String toString() {
+        return "Trip of " + trip + ": " + options.size() + " vehicles can make it" + (options.isEmpty() ? "" : ", best " + options.get(0));
+    }
+}
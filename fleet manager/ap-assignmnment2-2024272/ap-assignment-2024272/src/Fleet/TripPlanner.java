@@ -0,0 +1,86 @@
+package Fleet;
+import Interfaces.CargoCarrier;
+import Interfaces.FuelConsumable;
+import Interfaces.PassengerCarrier;
+import Vehicles.Vehicle;
+import java.util.*;
+// Checks every vehicle against many trips without touching them.
+class TripPlanner {
+    private final Vehicle[] vehicles;
+    private final double[] fuel;
+    private final double[] freeCargo;
+    private final int[] freeSeats;
+    TripPlanner(Collection<Vehicle> fleet) {
+        int n = fleet.size();
+        vehicles = fleet.toArray(new Vehicle[0]);
+        fuel = new double[n];
+        freeCargo = new double[n];
+        freeSeats = new int[n];
+        for (int i = 0; i < n; i++) {
+            Vehicle v = vehicles[i];
+            // Vehicles that burn no fuel are never limited by it.
+            fuel[i] = v instanceof FuelConsumable ? ((FuelConsumable) v).getFuelLevel() : Double.POSITIVE_INFINITY;
+            freeCargo[i] = v instanceof CargoCarrier ? ((CargoCarrier) v).getCargoCapacity() - ((CargoCarrier) v).getCurrentCargo() : -1;
+            freeSeats[i] = v instanceof PassengerCarrier ? ((PassengerCarrier) v).getPassengerCapacity() - ((PassengerCarrier) v).getCurrentPassengers() : -1;
+        }
+    }
+    // Scratch space for one worker.
+    class Workspace {
+        final int[] order = new int[vehicles.length];
+        final int[] merge = new int[vehicles.length];
+        final double[] hours = new double[vehicles.length];
+        final double[] fuelNeeded = new double[vehicles.length];
+    }
+    Workspace workspace() {
+        return new Workspace();
+    }
+    TripPlan plan(TripRequest trip, Workspace ws) {
+        double distance = trip.getDistance();
+        double payload = trip.getPayload();
+        int passengers = trip.getPassengers();
+        int count = 0;
+        for (int i = 0; i < vehicles.length; i++) {
+            if (payload > 0 && freeCargo[i] < payload) continue;
+            if (passengers > 0 && freeSeats[i] < passengers) continue;
+            Vehicle v = vehicles[i];
+            double hours = v.estimateJourneyTime(distance);
+            if (!(hours <= trip.getDeadlineHours())) continue;
+            // Same rule as move(): a non-positive efficiency (a cargo ship under sail) burns no fuel.
+            double efficiency = v.projectedFuelEfficiency(payload);
+            double needed = efficiency > 0 ? distance / efficiency : 0.0;
+            if (needed > fuel[i]) continue;
+            ws.order[count] = i;
+            ws.hours[i] = hours;
+            ws.fuelNeeded[i] = needed;
+            count++;
+        }
+        sort(ws, 0, count);
+        List<TripPlan.Option> options = new ArrayList<>(count);
+        for (int k = 0; k < count; k++) {
+            int i = ws.order[k];
+            options.add(new TripPlan.Option(vehicles[i], ws.hours[i], ws.fuelNeeded[i], fuel[i] - ws.fuelNeeded[i]));
+        }
+        return new TripPlan(trip, options);
+    }
+    // Stable merge sort of vehicle positions by time, then fuel; the order array starts in fleet order.
+    private static void sort(Workspace ws, int from, int to) {
+        if (to - from < 2) return;
+        int mid = (from + to) >>> 1;
+        sort(ws, from, mid);
+        sort(ws, mid, to);
+        if (!before(ws, ws.order[mid], ws.order[mid - 1])) return;
+        System.arraycopy(ws.order, from, ws.merge, from, to - from);
+        int left = from, right = mid;
+        for (int k = from; k < to; k++) {
+            if (right == to || (left < mid && !before(ws, ws.merge[right], ws.merge[left]))) {
+                ws.order[k] = ws.merge[left++];
+            } else {
+                ws.order[k] = ws.merge[right++];
+            }
+        }
+    }
+    private static boolean before(Workspace ws, int a, int b) {
+        int c = Double.compare(ws.hours[a], ws.hours[b]);
+        return c != 0 ? c < 0 : ws.fuelNeeded[a] < ws.fuelNeeded[b];
+    }
+}
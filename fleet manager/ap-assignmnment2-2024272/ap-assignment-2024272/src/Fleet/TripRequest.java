@@ -0,0 +1,32 @@
+package Fleet;
+// One trip to plan: how far, how many hours it may take, and what has to go aboard.
+public class TripRequest {
+    private final double distance;
+    private final double deadlineHours;
+    private final double payload;
+    private final int passengers;
+    public TripRequest(double distance, double deadlineHours, double payload, int passengers) {
+        if (distance < 0) throw new IllegalArgumentException("Distance cannot be negative");
+        if (payload < 0 || passengers < 0) throw new IllegalArgumentException("Payload and passengers cannot be negative");
+        this.distance = distance;
+        this.deadlineHours = deadlineHours;
+        this.payload = payload;
+        this.passengers = passengers;
+    }
+    public double getDistance() {
+        return distance;
+    }
+    public double getDeadlineHours() {
+        return deadlineHours;
+    }
+    public double getPayload() {
+        return payload;
+    }
+    public int getPassengers() {
+        return passengers;
+    }
+    @Override
+    public String toString() {
+        return distance + " km within " + deadlineHours + " h, " + payload + " kg, " + passengers + " passengers";
+    }
+}
@@ -0,0 +1,112 @@
+package Fleet;
+import Vehicles.Vehicle;
+import java.util.*;
+// One bucket per class, superclass and interface, each in fleet order; positions are renumbered after a re-sort.
+public class TypeIndex {
+    private final class Bucket extends HandleTree {
+        @Override
+        int compare(int a, int b) {
+            return Long.compare(positions[a], positions[b]);
+        }
+    }
+    private final Map<Class<?>, Bucket> buckets = new HashMap<>();
+    private final Map<Class<?>, List<Class<?>>> keysByClass = new HashMap<>();
+    private Vehicle[] vehicles = new Vehicle[16];
+    private long[] positions = new long[16];
+    private long nextPosition;
+    private long firstPosition;
+    // Handles must be added in fleet order.
+    public void add(int handle, Vehicle v) {
+        if (handle >= vehicles.length) grow(handle + 1);
+        vehicles[handle] = v;
+        positions[handle] = nextPosition++;
+        for (Class<?> key : keysFor(v.getClass())) {
+            buckets.computeIfAbsent(key, k -> new Bucket()).insert(handle);
+        }
+    }
+    public void remove(int handle) {
+        Vehicle v = handle < vehicles.length ? vehicles[handle] : null;
+        if (v == null) return;
+        for (Class<?> key : keysFor(v.getClass())) {
+            Bucket bucket = buckets.get(key);
+            if (bucket != null && bucket.remove(handle) && bucket.size() == 0) buckets.remove(key);
+        }
+        vehicles[handle] = null;
+    }
+    public void clear() {
+        buckets.clear();
+        Arrays.fill(vehicles, null);
+        firstPosition = nextPosition;
+    }
+    // Live view in fleet order; types no vehicle is an instance of yield an empty bucket.
+    public Collection<Vehicle> bucket(Class<?> type) {
+        return new AbstractCollection<Vehicle>() {
+            @Override
+            public Iterator<Vehicle> iterator() {
+                Bucket bucket = buckets.get(type);
+                return bucket == null ? Collections.emptyIterator() : walk(bucket, bucket.first());
+            }
+            @Override
+            public int size() {
+                return count(type);
+            }
+        };
+    }
+    // Members of the bucket that come after the given fleet position, in fleet order.
+    public Iterator<Vehicle> after(Class<?> type, long position) {
+        if (position < firstPosition) {
+            throw new IllegalArgumentException("Fleet position " + position + " predates the last re-sort or reload");
+        }
+        Bucket bucket = buckets.get(type);
+        return bucket == null ? Collections.emptyIterator() : walk(bucket, bucket.ceiling(h -> position < positions[h] ? -1 : 1));
+    }
+    public long positionOf(int handle) {
+        if (handle >= vehicles.length || vehicles[handle] == null) {
+            throw new IllegalArgumentException("Handle " + handle + " is not indexed");
+        }
+        return positions[handle];
+    }
+    public int count(Class<?> type) {
+        Bucket bucket = buckets.get(type);
+        return bucket == null ? 0 : bucket.size();
+    }
+    private Iterator<Vehicle> walk(Bucket bucket, int start) {
+        return new Iterator<Vehicle>() {
+            private final int expected = bucket.modCount();
+            private int next = start;
+            @Override
+            public boolean hasNext() {
+                return next != HandleTree.NONE;
+            }
+            @Override
+            public Vehicle next() {
+                if (bucket.modCount() != expected) throw new ConcurrentModificationException();
+                if (next == HandleTree.NONE) throw new NoSuchElementException();
+                Vehicle v = vehicles[next];
+                next = bucket.next(next);
+                return v;
+            }
+        };
+    }
+    // Every type except Object that an instance of the class is assignable to.
+    private List<Class<?>> keysFor(Class<?> type) {
+        List<Class<?>> keys = keysByClass.get(type);
+        if (keys == null) {
+            Set<Class<?>> found = new LinkedHashSet<>();
+            collect(type, found);
+            keys = new ArrayList<>(found);
+            keysByClass.put(type, keys);
+        }
+        return keys;
+    }
+    private static void collect(Class<?> type, Set<Class<?>> found) {
+        if (type == null || type == Object.class || !found.add(type)) return;
+        collect(type.getSuperclass(), found);
+        for (Class<?> i : type.getInterfaces()) collect(i, found);
+    }
+    private void grow(int minCapacity) {
+        int capacity = Math.max(minCapacity, vehicles.length * 2);
+        vehicles = Arrays.copyOf(vehicles, capacity);
+        positions = Arrays.copyOf(positions, capacity);
+    }
+}
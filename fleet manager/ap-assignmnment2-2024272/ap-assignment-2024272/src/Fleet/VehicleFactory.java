@@ -1,42 +1,42 @@
 package Fleet;
 import Exceptions.InvalidOperationException;
 import Vehicles.*;
+// Creates vehicles through the VehicleTypes registry.
 public class VehicleFactory {
+    // A vehicle of the named type with default specs and fresh state; type names ignore case.
+    public static Vehicle createVehicle(String type, String id, String model, double maxSpeed) throws InvalidOperationException {
+        return createVehicle(type, new VehicleBuilder().id(id).model(model).maxSpeed(maxSpeed));
+    }
+    // ID, model, max speed and an optional wheel count, altitude or sails flag, depending on the type.
+    @Deprecated
     public static Vehicle createVehicle(String type, String[] data) throws InvalidOperationException {
-        switch (type) {
-            case "Car":
-                // Car(String id, String model, double maxSpeed, int fuelTankCapacity)
-                int carTank = 50;
-                if (data.length > 3 && !data[3].isEmpty()) {
-                    try { carTank = Integer.parseInt(data[3]); } catch (NumberFormatException ignored) {}
-                }
-                return new Car(data[0], data[1], Double.parseDouble(data[2]), carTank);
-            case "Truck":
-                int truckCap = 1000;
-                if (data.length > 3 && !data[3].isEmpty()) {
-                    try { truckCap = Integer.parseInt(data[3]); } catch (NumberFormatException ignored) {}
-                }
-                return new Truck(data[0], data[1], Double.parseDouble(data[2]), truckCap);
-            case "Bus":
-                int seats = 40;
-                if (data.length > 3 && !data[3].isEmpty()) {
-                    try { seats = Integer.parseInt(data[3]); } catch (NumberFormatException ignored) {}
-                }
-                return new Bus(data[0], data[1], Double.parseDouble(data[2]), seats);
-            case "Airplane":
-                double altitude = 10000;
-                if (data.length > 3 && !data[3].isEmpty()) {
-                    try { altitude = Double.parseDouble(data[3]); } catch (NumberFormatException ignored) {}
-                }
-                return new Airplane(data[0], data[1], Double.parseDouble(data[2]), altitude);
-            case "CargoShip":
-                boolean hasSails = false;
-                if (data.length > 3 && !data[3].isEmpty()) {
-                    hasSails = Boolean.parseBoolean(data[3]);
-                }
-                return new CargoShip(data[0], data[1], Double.parseDouble(data[2]), hasSails);
-            default:
-                throw new InvalidOperationException("Unknown vehicle type: " + type);
+        VehicleType t = VehicleTypes.byName(type);
+        if (t == null) {
+            throw new InvalidOperationException("Unknown vehicle type: " + type);
+        }
+        VehicleBuilder builder = new VehicleBuilder().id(data[0]).model(data[1]).maxSpeed(Double.parseDouble(data[2]));
+        if (data.length > 3 && !data[3].isEmpty()) {
+            Class<? extends Vehicle> kind = t.getVehicleClass();
+            try {
+                if (LandVehicle.class.isAssignableFrom(kind)) builder.wheels(Integer.parseInt(data[3]));
+                else if (AirVehicle.class.isAssignableFrom(kind)) builder.altitude(Double.parseDouble(data[3]));
+            } catch (NumberFormatException ignored) {}
+            if (WaterVehicle.class.isAssignableFrom(kind)) builder.sail(Boolean.parseBoolean(data[3]));
+        }
+        return t.build(builder);
+    }
+    public static Vehicle createVehicle(String type, VehicleBuilder builder) throws InvalidOperationException {
+        VehicleType t = VehicleTypes.byName(type);
+        if (t == null) {
+            throw new InvalidOperationException("Unknown vehicle type: " + type);
+        }
+        return t.build(builder);
+    }
+    public static Vehicle createVehicle(int code, VehicleBuilder builder) throws InvalidOperationException {
+        VehicleType t = VehicleTypes.byCode(code);
+        if (t == null) {
+            throw new InvalidOperationException("Unknown vehicle type code: " + code);
         }
+        return t.build(builder);
     }
 }
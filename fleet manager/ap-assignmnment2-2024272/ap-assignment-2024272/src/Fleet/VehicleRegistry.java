@@ -0,0 +1,142 @@
+package Fleet;
+import Vehicles.Vehicle;
+import java.util.*;
+// The fleet's members by dense int handle, in fleet order; freed handles are reused first.
+class VehicleRegistry {
+    private static final int NONE = -1;
+    private final IdTable ids = new IdTable(64);
+    private Vehicle[] vehicles = new Vehicle[64];
+    private int[] next = new int[64];
+    private int[] prev = new int[64];
+    private int[] free = new int[16];
+    private int freeCount;
+    private int issued;
+    private int head = NONE;
+    private int tail = NONE;
+    private int size;
+    private int modCount;
+    private final Collection<Vehicle> values = new AbstractCollection<Vehicle>() {
+        @Override
+        public Iterator<Vehicle> iterator() {
+            return new Iterator<Vehicle>() {
+                private int cursor = head;
+                private final int expected = modCount;
+                @Override
+                public boolean hasNext() {
+                    return cursor != NONE;
+                }
+                @Override
+                public Vehicle next() {
+                    if (modCount != expected) throw new ConcurrentModificationException();
+                    if (cursor == NONE) throw new NoSuchElementException();
+                    Vehicle v = vehicles[cursor];
+                    cursor = VehicleRegistry.this.next[cursor];
+                    return v;
+                }
+            };
+        }
+        @Override
+        public int size() {
+            return size;
+        }
+    };
+    // Appends the vehicle and returns its handle, or -1 if its ID is taken.
+    int add(Vehicle v) {
+        int handle = freeCount > 0 ? free[--freeCount] : issued;
+        if (ids.putIfAbsent(v.getId(), handle) != NONE) {
+            if (handle != issued) freeCount++;
+            return NONE;
+        }
+        if (handle == issued) {
+            issued++;
+            if (handle == vehicles.length) grow();
+        }
+        vehicles[handle] = v;
+        link(handle);
+        size++;
+        modCount++;
+        return handle;
+    }
+    // The handle must be in use.
+    Vehicle remove(int handle) {
+        Vehicle v = vehicles[handle];
+        ids.remove(v.getId());
+        unlink(handle);
+        vehicles[handle] = null;
+        if (freeCount == free.length) free = Arrays.copyOf(free, freeCount * 2);
+        free[freeCount++] = handle;
+        size--;
+        modCount++;
+        return v;
+    }
+    Vehicle get(String id) {
+        int handle = ids.get(id);
+        return handle == NONE ? null : vehicles[handle];
+    }
+    int handleOf(String id) {
+        return ids.get(id);
+    }
+    // Null for a handle that is free or was never issued.
+    Vehicle byHandle(int handle) {
+        return handle >= 0 && handle < issued ? vehicles[handle] : null;
+    }
+    // Walks the handles in fleet order: start at firstHandle() and stop when nextHandle() returns -1.
+    int firstHandle() {
+        return head;
+    }
+    int nextHandle(int handle) {
+        return next[handle];
+    }
+    boolean contains(String id) {
+        return ids.get(id) != NONE;
+    }
+    int size() {
+        return size;
+    }
+    // One past the highest handle in use so far; arrays indexed by handle need this many slots.
+    int handleLimit() {
+        return issued;
+    }
+    void clear() {
+        ids.clear();
+        Arrays.fill(vehicles, 0, issued, null);
+        freeCount = 0;
+        issued = 0;
+        head = NONE;
+        tail = NONE;
+        size = 0;
+        modCount++;
+    }
+    // Relinks the fleet order to match the list, which must hold exactly the current members.
+    void reorder(List<Vehicle> order) {
+        head = NONE;
+        tail = NONE;
+        for (Vehicle v : order) link(ids.get(v.getId()));
+        modCount++;
+    }
+    // Live, read-only view in fleet order; like any collection view it fails fast if the fleet changes.
+    Collection<Vehicle> values() {
+        return values;
+    }
+    private void link(int handle) {
+        prev[handle] = tail;
+        next[handle] = NONE;
+        if (tail == NONE) head = handle;
+        else next[tail] = handle;
+        tail = handle;
+    }
+    private void unlink(int handle) {
+        int p = prev[handle];
+        int n = next[handle];
+        if (p == NONE) head = n;
+        else next[p] = n;
+        if (n == NONE) tail = p;
+        else prev[n] = p;
+    }
+    private void grow() {
+        int capacity = vehicles.length * 2;
+        vehicles = Arrays.copyOf(vehicles, capacity);
+        next = Arrays.copyOf(next, capacity);
+        prev = Arrays.copyOf(prev, capacity);
+    }
+}
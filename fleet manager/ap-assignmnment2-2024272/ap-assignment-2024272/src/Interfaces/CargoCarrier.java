@@ -5,4 +5,6 @@ import Exceptions.InvalidOperationException;
     void unloadCargo(double weight) throws InvalidOperationException; 
     double getCargoCapacity(); 
     double getCurrentCargo(); 
+    // Restores the cargo weight directly, without capacity checks or event output.
+    void setCurrentCargo(double currentCargo);
 }
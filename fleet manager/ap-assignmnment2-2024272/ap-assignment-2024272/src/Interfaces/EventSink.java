@@ -0,0 +1,9 @@
+package Interfaces;
+import Events.EventType;
+import Vehicles.Vehicle;
+public interface EventSink {
+    // Called on the vehicle's own thread; the two values are captured at the moment of the event.
+    void publish(EventType type, Vehicle vehicle, double first, double second);
+    default void flush() {}
+    default void close() {}
+}
@@ -5,4 +5,5 @@ import Exceptions.InsufficientFuelException;
         void refuel(double amount) throws InvalidOperationException; 
         double getFuelLevel(); 
         double consumeFuel(double distance) throws InsufficientFuelException; 
+        void setFuelLevel(double fuelLevel);
 }
\ No newline at end of file
@@ -3,4 +3,6 @@ public interface Maintainable {
     void scheduleMaintenance(); 
     boolean needsMaintenance(); 
     void performMaintenance(); 
+    boolean isMaintenanceScheduled();
+    void setMaintenanceScheduled(boolean scheduled);
 }
\ No newline at end of file
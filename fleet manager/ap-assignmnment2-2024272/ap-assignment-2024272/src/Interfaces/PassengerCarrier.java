@@ -5,4 +5,6 @@ public interface PassengerCarrier {
     void boardPassengers(int count) throws OverloadException; 
     void disembarkPassengers(int count) throws InvalidOperationException; 
     int getPassengerCapacity(); int getCurrentPassengers(); 
+    // Restores the passenger count directly, without capacity checks or event output.
+    void setCurrentPassengers(int currentPassengers);
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package Interfaces;
+import Vehicles.Vehicle;
+public interface VehicleObserver {
+    default void onMileageChanged(Vehicle v, double oldMileage, double newMileage) {}
+    default void onFuelChanged(Vehicle v, double oldLevel, double newLevel) {}
+    default void onCargoChanged(Vehicle v, double oldCargo, double newCargo) {}
+    default void onPassengersChanged(Vehicle v, int oldCount, int newCount) {}
+    default void onMaintenanceChanged(Vehicle v, boolean oldScheduled, boolean newScheduled) {}
+    default void onServiceMileageChanged(Vehicle v, double oldMileage, double newMileage) {}
+}
@@ -1,13 +1,18 @@
 import Exceptions.*;
 import Fleet.FleetManager;
+import Fleet.FuelProjection;
+import Fleet.SaveReport;
 import Interfaces.*;
 import Vehicles.*;
 import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 public class Main {
     public static void main(String[] args) {
         FleetManager manager = new FleetManager();
         Scanner sc = new Scanner(System.in);
         boolean running = true;
+        CompletableFuture<SaveReport> pendingSave = null;
         while (running) {
             System.out.println("\n===== Fleet Management System =====");
             System.out.println("1. Add Vehicle");
@@ -19,14 +24,14 @@ public class Main {
             System.out.println("7. Save Fleet");
             System.out.println("8. Load Fleet");
             System.out.println("9. Search by Type");
-            System.out.println("10. Sort Fleet by Efficiency");
+            System.out.println("10. Show Fleet by Efficiency");
             System.out.println("11. List Vehicles Needing Maintenance");
             System.out.println("12. Get Total Fuel Consumption");
             System.out.println("13. View Fastest and Slowest Vehicle");
             System.out.println("14. View Unique Models (HashSet)");
             System.out.println("15. View Sorted Models (TreeSet)");
-            System.out.println("16. Sort Fleet by Speed");
-            System.out.println("17. Sort Fleet by Model");
+            System.out.println("16. Show Fleet by Speed");
+            System.out.println("17. Show Fleet by Model");
             System.out.println("18. Display Fleet Summary Report");
             System.out.println("19. Exit");
             System.out.print("Choose option: ");
@@ -35,52 +40,36 @@ public class Main {
             try {
                 switch (choice) {
                     case 1:
-                        System.out.print("Enter vehicle type (Car/Truck/Bus/Airplane/CargoShip): ");
-                        String vtype = sc.nextLine();
+                        StringBuilder typeNames = new StringBuilder();
+                        for (VehicleType t : VehicleTypes.all()) {
+                            if (typeNames.length() > 0) typeNames.append('/');
+                            typeNames.append(t.getName());
+                        }
+                        System.out.print("Enter vehicle type (" + typeNames + "): ");
+                        VehicleType vtype = VehicleTypes.byName(sc.nextLine().trim());
+                        if (vtype == null) {
+                            System.out.println("Invalid vehicle type.");
+                            break;
+                        }
+                        VehicleBuilder spec = new VehicleBuilder();
                         System.out.print("Enter ID: ");
-                        String id = sc.nextLine();
+                        spec.id(sc.nextLine());
                         System.out.print("Enter model: ");
-                        String model = sc.nextLine();
+                        spec.model(sc.nextLine());
                         System.out.print("Enter max speed: ");
-                        double maxSpeed = sc.nextDouble();
+                        spec.maxSpeed(sc.nextDouble());
                         sc.nextLine();
-                        Vehicle v = null;
-                        switch (vtype.toLowerCase()) {
-                            case "car":
-                                v = new Car(id, model, maxSpeed, 50);
-                                break;
-                            case "truck":
-                                System.out.print("Enter cargo capacity: ");
-                                int capacity = sc.nextInt();
-                                sc.nextLine();
-                                v = new Truck(id, model, maxSpeed, capacity);
-                                break;
-                            case "bus":
-                                System.out.print("Enter passenger capacity: ");
-                                int seats = sc.nextInt();
-                                sc.nextLine();
-                                v = new Bus(id, model, maxSpeed, seats);
-                                break;
-                            case "airplane":
-                                System.out.print("Enter max altitude: ");
-                                double altitude = sc.nextDouble();
-                                sc.nextLine();
-                                v = new Airplane(id, model, maxSpeed, altitude);
-                                break;
-                            case "cargoship":
-                                System.out.print("Does it have sails? (true/false): ");
-                                boolean hasSails = sc.nextBoolean();
-                                sc.nextLine();
-                                v = new CargoShip(id, model, maxSpeed, hasSails);
-                                break;
-                            default:
-                                System.out.println("Invalid vehicle type.");
-                                break;
-                        }
-                        if (v != null) {
-                            manager.addVehicle(v);
-                            System.out.println("Vehicle added successfully!");
+                        if (AirVehicle.class.isAssignableFrom(vtype.getVehicleClass())) {
+                            System.out.print("Enter max altitude: ");
+                            spec.altitude(sc.nextDouble());
+                            sc.nextLine();
+                        } else if (WaterVehicle.class.isAssignableFrom(vtype.getVehicleClass())) {
+                            System.out.print("Does it have sails? (true/false): ");
+                            spec.sail(sc.nextBoolean());
+                            sc.nextLine();
                         }
+                        manager.addVehicle(vtype.build(spec));
+                        System.out.println("Vehicle added successfully!");
                         break;
                     case 2:
                         System.out.print("Enter vehicle ID to remove: ");
@@ -91,13 +80,7 @@ public class Main {
                     case 3:
                         System.out.print("Enter Vehicle ID to start journey: ");
                         String journeyId = sc.nextLine();
-                        Vehicle targetVehicle = null;
-                        for (Vehicle vJ : manager.getFleet()) {
-                            if (vJ.getId().equals(journeyId)) {
-                                targetVehicle = vJ;
-                                break;
-                            }
-                        }
+                        Vehicle targetVehicle = manager.getById(journeyId);
                         if (targetVehicle == null) {
                             System.out.println("Error: Vehicle with ID " + journeyId + " not found.");
                             break;
@@ -157,12 +140,16 @@ public class Main {
                         if (saveName.isEmpty()) saveName = FleetManager.DEFAULT_FILE;
                         if (!saveName.endsWith(".csv")) saveName += ".csv";
                         if (!saveName.startsWith("data/")) saveName = "data/" + saveName;
-                        try {
-                            manager.saveToFile(saveName);
-                            System.out.println("Fleet saved to " + saveName);
-                        } catch (Exceptions.FileOperationException e) {
-                            System.out.println("Save failed: " + e.getMessage());
-                        }
+                        // Written in the background; the menu comes straight back.
+                        pendingSave = manager.saveToFileAsync(saveName).whenComplete((report, error) -> {
+                            if (error == null) {
+                                System.out.println("\n" + report);
+                            } else {
+                                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                                System.out.println("\nSave failed: " + cause.getMessage());
+                            }
+                        });
+                        System.out.println("Saving fleet to " + saveName + " in the background...");
                         break;
                     case 8:
                         System.out.print("Enter filename to load from (or press Enter for default '" + FleetManager.DEFAULT_FILE + "'): ");
@@ -190,9 +177,8 @@ public class Main {
                         }
                         break;
                     case 10:
-                        manager.sortFleetByEfficiency();
                         System.out.println("Fleet sorted by efficiency (highest first):");
-                        for (Vehicle vEff : manager.getFleet()) {
+                        for (Vehicle vEff : manager.getFleetByEfficiency()) {
                             System.out.println(vEff.getId() + " - " +
                                     vEff.getClass().getSimpleName() +
                                     " - Efficiency: " + vEff.calculateFuelEfficiency());
@@ -207,8 +193,12 @@ public class Main {
                     case 12:
                         System.out.print("Enter distance: ");
                         double dist = sc.nextDouble();
-                        double totalFuel = manager.getTotalFuelConsumption(dist);
-                        System.out.println("Total fuel consumption: " + totalFuel);
+                        FuelProjection projection = manager.projectFuel(dist);
+                        System.out.println("Total fuel consumption: " + projection.getTotalFuel());
+                        for (FuelProjection.Shortfall shortfall : projection.getShortfalls()) {
+                            System.out.println("Not enough fuel for " + shortfall.getVehicleId() + ": needs "
+                                    + shortfall.getNeeded() + ", has " + shortfall.getAvailable());
+                        }
                         break;
                     case 13:
                         Vehicle fastest = manager.getFastestVehicle();
@@ -239,16 +229,14 @@ public class Main {
                         }
                         break;
                     case 16:
-                        manager.sortFleetBySpeed();
                         System.out.println("Fleet sorted by speed (highest first):");
-                        for (Vehicle vS : manager.getFleet()) {
+                        for (Vehicle vS : manager.getFleetBySpeed()) {
                             System.out.println(vS.getId() + " - " + vS.getClass().getSimpleName() + " - Speed: " + vS.getMaxSpeed());
                         }
                         break;
                     case 17:
-                        manager.sortFleetByModel();
                         System.out.println("Fleet sorted by model (A-Z):");
-                        for (Vehicle vM : manager.getFleet()) {
+                        for (Vehicle vM : manager.getFleetByModel()) {
                             System.out.println(vM.getId() + " - " + vM.getClass().getSimpleName() + " - Model: " + vM.getModel());
                         }
                         break;
@@ -266,6 +254,10 @@ public class Main {
                 System.out.println("Error: " + e.getMessage());
             }
         }
+        // Saves run in order, so the last one finishing means they all have.
+        if (pendingSave != null) {
+            pendingSave.exceptionally(e -> null).join();
+        }
         sc.close();
     }
 }
\ No newline at end of file
@@ -0,0 +1,85 @@
+package Simulation;
+import java.util.Arrays;
+// Binary min-heap of (time, vehicle, kind); events at the same time come out in scheduling order.
+class EventQueue {
+    private double[] times;
+    private long[] seqs;
+    private int[] events;
+    private int size;
+    private long nextSeq;
+    EventQueue(int capacity) {
+        int n = Math.max(capacity, 16);
+        times = new double[n];
+        seqs = new long[n];
+        events = new int[n];
+    }
+    void clear() {
+        size = 0;
+        nextSeq = 0;
+    }
+    void schedule(double time, int vehicle, int kind) {
+        if (size == times.length) {
+            times = Arrays.copyOf(times, size * 2);
+            seqs = Arrays.copyOf(seqs, size * 2);
+            events = Arrays.copyOf(events, size * 2);
+        }
+        int i = size++;
+        long seq = nextSeq++;
+        int event = vehicle << 3 | kind;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(time, seq, parent)) break;
+            move(parent, i);
+            i = parent;
+        }
+        times[i] = time;
+        seqs[i] = seq;
+        events[i] = event;
+    }
+    boolean isEmpty() {
+        return size == 0;
+    }
+    double peekTime() {
+        return times[0];
+    }
+    // Removes the earliest event and returns it packed as vehicle << 3 | kind; read its time with peekTime first.
+    int poll() {
+        int head = events[0];
+        int last = --size;
+        if (last > 0) {
+            double time = times[last];
+            long seq = seqs[last];
+            int event = events[last];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= last) break;
+                if (child + 1 < last && before(times[child + 1], seqs[child + 1], child)) child++;
+                if (!before(times[child], seqs[child], time, seq)) break;
+                move(child, i);
+                i = child;
+            }
+            times[i] = time;
+            seqs[i] = seq;
+            events[i] = event;
+        }
+        return head;
+    }
+    static int vehicleOf(int event) {
+        return event >>> 3;
+    }
+    static int kindOf(int event) {
+        return event & 7;
+    }
+    private boolean before(double time, long seq, int slot) {
+        return before(time, seq, times[slot], seqs[slot]);
+    }
+    private static boolean before(double time, long seq, double otherTime, long otherSeq) {
+        return time < otherTime || (time == otherTime && seq < otherSeq);
+    }
+    private void move(int from, int to) {
+        times[to] = times[from];
+        seqs[to] = seqs[from];
+        events[to] = events[from];
+    }
+}
@@ -0,0 +1,180 @@
+package Simulation;
+import Fleet.FleetManager;
+import Interfaces.CargoCarrier;
+import Interfaces.FuelConsumable;
+import Interfaces.Maintainable;
+import Interfaces.PassengerCarrier;
+import Vehicles.MaintenancePolicy;
+import Vehicles.Vehicle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+// Discrete-event simulation of the fleet's working cycle on copies of its state; a seed always gives the same report.
+public class FleetSimulator {
+    private static final int READY = 0;
+    private static final int LOADED = 1;
+    private static final int REFUELED = 2;
+    private static final int ARRIVED = 3;
+    private static final int SERVICED = 4;
+    private static final int IDLE = 0;
+    private static final int SERVICE = 1;
+    private static final int DRIVING = 2;
+    private final SimulationConfig config;
+    private final Vehicle[] vehicles;
+    private final double[] startFuel;
+    private final double[] startMileage;
+    private final double[] threshold;
+    private final double[] currentCargo;
+    private final double[] cargoCapacity;
+    private final int[] seatCapacity;
+    private final boolean[] burnsFuel;
+    public FleetSimulator(FleetManager fleet, SimulationConfig config) {
+        this.config = config;
+        List<Vehicle> snapshot = fleet.getFleet();
+        int n = snapshot.size();
+        vehicles = snapshot.toArray(new Vehicle[0]);
+        startFuel = new double[n];
+        startMileage = new double[n];
+        threshold = new double[n];
+        currentCargo = new double[n];
+        cargoCapacity = new double[n];
+        seatCapacity = new int[n];
+        burnsFuel = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            Vehicle v = vehicles[i];
+            burnsFuel[i] = v instanceof FuelConsumable;
+            startFuel[i] = burnsFuel[i] ? ((FuelConsumable) v).getFuelLevel() : 0.0;
+            startMileage[i] = v.getCurrentMileage();
+            // The same rule as needsMaintenance(), but counted from the last simulated service.
+            threshold[i] = v instanceof Maintainable ? MaintenancePolicy.thresholdFor(v) : Double.POSITIVE_INFINITY;
+            if (v instanceof CargoCarrier) {
+                currentCargo[i] = ((CargoCarrier) v).getCurrentCargo();
+                cargoCapacity[i] = ((CargoCarrier) v).getCargoCapacity();
+            }
+            if (v instanceof PassengerCarrier) seatCapacity[i] = ((PassengerCarrier) v).getPassengerCapacity();
+        }
+    }
+    public SimulationReport run(long seed) {
+        long start = System.nanoTime();
+        int n = vehicles.length;
+        double horizon = config.getHorizonHours();
+        SplittableRandom random = new SplittableRandom(seed);
+        EventQueue queue = new EventQueue(n);
+        double[] fuel = startFuel.clone();
+        double[] sinceService = startMileage.clone();
+        double[] tripKm = new double[n];
+        double[] tripFuel = new double[n];
+        double[] tripCargo = new double[n];
+        int[] tripPassengers = new int[n];
+        double[] phaseStart = new double[n];
+        int[] phase = new int[n];
+        int[] trips = new int[n];
+        int[] refuels = new int[n];
+        int[] services = new int[n];
+        double[] distance = new double[n];
+        double[] fuelUsed = new double[n];
+        double[] tonneKm = new double[n];
+        double[] passengerKm = new double[n];
+        double[] drivingHours = new double[n];
+        double[] serviceHours = new double[n];
+        for (int i = 0; i < n; i++) {
+            Vehicle v = vehicles[i];
+            if (v instanceof Maintainable && ((Maintainable) v).needsMaintenance()) {
+                phase[i] = SERVICE;
+                queue.schedule(config.getMaintenanceHours(), i, SERVICED);
+            } else {
+                queue.schedule(idle(random), i, READY);
+            }
+        }
+        long events = 0;
+        long maxEvents = config.getMaxEvents();
+        double now = 0.0;
+        while (!queue.isEmpty() && events < maxEvents) {
+            now = queue.peekTime();
+            if (now > horizon) break;
+            int event = queue.poll();
+            int i = EventQueue.vehicleOf(event);
+            events++;
+            switch (EventQueue.kindOf(event)) {
+                case READY: {
+                    // Loading takes time only for vehicles that carry something.
+                    boolean carrier = cargoCapacity[i] > 0 || seatCapacity[i] > 0;
+                    enter(i, carrier ? SERVICE : IDLE, now, phase, phaseStart, drivingHours, serviceHours);
+                    double cargo = cargoCapacity[i] > 0 ? random.nextDouble() * cargoCapacity[i] : 0.0;
+                    tripCargo[i] = cargo;
+                    tripPassengers[i] = seatCapacity[i] > 0 ? random.nextInt(seatCapacity[i] + 1) : 0;
+                    tripKm[i] = config.getMinTripKm() + random.nextDouble() * (config.getMaxTripKm() - config.getMinTripKm());
+                    double efficiency = vehicles[i].projectedFuelEfficiency(cargo - currentCargo[i]);
+                    tripFuel[i] = burnsFuel[i] && efficiency > 0 ? tripKm[i] / efficiency : 0.0;
+                    queue.schedule(carrier ? now + config.getLoadHours() : now, i, LOADED);
+                    break;
+                }
+                case LOADED:
+                    if (fuel[i] < tripFuel[i]) {
+                        enter(i, SERVICE, now, phase, phaseStart, drivingHours, serviceHours);
+                        refuels[i]++;
+                        queue.schedule(now + config.getRefuelHours(), i, REFUELED);
+                    } else {
+                        depart(i, now, queue, phase, phaseStart, drivingHours, serviceHours, tripKm);
+                    }
+                    break;
+                case REFUELED:
+                    fuel[i] = Math.max(Math.max(fuel[i], config.getRefuelLitres()), tripFuel[i]);
+                    depart(i, now, queue, phase, phaseStart, drivingHours, serviceHours, tripKm);
+                    break;
+                case ARRIVED:
+                    fuel[i] -= tripFuel[i];
+                    fuelUsed[i] += tripFuel[i];
+                    distance[i] += tripKm[i];
+                    tonneKm[i] += tripCargo[i] / 1000.0 * tripKm[i];
+                    passengerKm[i] += tripPassengers[i] * tripKm[i];
+                    sinceService[i] += tripKm[i];
+                    trips[i]++;
+                    if (sinceService[i] > threshold[i]) {
+                        enter(i, SERVICE, now, phase, phaseStart, drivingHours, serviceHours);
+                        queue.schedule(now + config.getMaintenanceHours(), i, SERVICED);
+                    } else {
+                        enter(i, IDLE, now, phase, phaseStart, drivingHours, serviceHours);
+                        queue.schedule(now + idle(random), i, READY);
+                    }
+                    break;
+                case SERVICED:
+                    sinceService[i] = 0.0;
+                    services[i]++;
+                    enter(i, IDLE, now, phase, phaseStart, drivingHours, serviceHours);
+                    queue.schedule(now + idle(random), i, READY);
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown event kind " + EventQueue.kindOf(event));
+            }
+        }
+        // Whatever each vehicle was doing when the clock stopped counts up to the end of the horizon.
+        double end = events < maxEvents ? horizon : Math.min(now, horizon);
+        List<SimulationReport.VehicleStats> stats = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            enter(i, IDLE, end, phase, phaseStart, drivingHours, serviceHours);
+            stats.add(new SimulationReport.VehicleStats(vehicles[i].getId(), vehicles[i].getClass().getSimpleName(),
+                    trips[i], distance[i], fuelUsed[i], tonneKm[i], passengerKm[i], refuels[i], services[i],
+                    drivingHours[i], serviceHours[i], end));
+        }
+        return new SimulationReport(seed, end, events, System.nanoTime() - start, stats);
+    }
+    private void depart(int i, double now, EventQueue queue, int[] phase, double[] phaseStart,
+                        double[] drivingHours, double[] serviceHours, double[] tripKm) {
+        enter(i, DRIVING, now, phase, phaseStart, drivingHours, serviceHours);
+        queue.schedule(now + vehicles[i].estimateJourneyTime(tripKm[i]), i, ARRIVED);
+    }
+    // Closes the vehicle's current phase at the given time and starts the next one.
+    private static void enter(int i, int next, double now, int[] phase, double[] phaseStart,
+                              double[] drivingHours, double[] serviceHours) {
+        double spent = now - phaseStart[i];
+        if (phase[i] == DRIVING) drivingHours[i] += spent;
+        else if (phase[i] == SERVICE) serviceHours[i] += spent;
+        phase[i] = next;
+        phaseStart[i] = now;
+    }
+    private double idle(SplittableRandom random) {
+        double mean = config.getMeanIdleHours();
+        return mean > 0 ? -mean * Math.log(1.0 - random.nextDouble()) : 0.0;
+    }
+}
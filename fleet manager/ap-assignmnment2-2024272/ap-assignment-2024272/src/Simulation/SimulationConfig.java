@@ -0,0 +1,83 @@
+package Simulation;
+// Knobs for FleetSimulator. Durations are in simulated hours, distances in km and fuel in litres.
+public class SimulationConfig {
+    private double horizonHours = 720.0;
+    private double minTripKm = 20.0;
+    private double maxTripKm = 400.0;
+    private double meanIdleHours = 2.0;
+    private double loadHours = 0.5;
+    private double refuelHours = 0.25;
+    private double refuelLitres = 200.0;
+    private double maintenanceHours = 8.0;
+    private long maxEvents = Long.MAX_VALUE;
+    public SimulationConfig withHorizonHours(double hours) {
+        this.horizonHours = positive(hours, "Horizon");
+        return this;
+    }
+    // Trip lengths are drawn uniformly from this range.
+    public SimulationConfig withTripRange(double minKm, double maxKm) {
+        if (minKm < 0 || maxKm < minKm) throw new IllegalArgumentException("Invalid trip range: " + minKm + " to " + maxKm);
+        this.minTripKm = minKm;
+        this.maxTripKm = maxKm;
+        return this;
+    }
+    // Time parked between trips is exponentially distributed with this mean.
+    public SimulationConfig withMeanIdleHours(double hours) {
+        this.meanIdleHours = notNegative(hours, "Idle time");
+        return this;
+    }
+    public SimulationConfig withLoadHours(double hours) {
+        this.loadHours = notNegative(hours, "Load time");
+        return this;
+    }
+    // A refuel stop fills the tank to this level, or to whatever the next trip needs if that is more.
+    public SimulationConfig withRefuel(double hours, double litres) {
+        this.refuelHours = notNegative(hours, "Refuel time");
+        this.refuelLitres = notNegative(litres, "Refuel amount");
+        return this;
+    }
+    public SimulationConfig withMaintenanceHours(double hours) {
+        this.maintenanceHours = notNegative(hours, "Maintenance time");
+        return this;
+    }
+    public SimulationConfig withMaxEvents(long events) {
+        if (events <= 0) throw new IllegalArgumentException("Event limit must be positive: " + events);
+        this.maxEvents = events;
+        return this;
+    }
+    public double getHorizonHours() {
+        return horizonHours;
+    }
+    public double getMinTripKm() {
+        return minTripKm;
+    }
+    public double getMaxTripKm() {
+        return maxTripKm;
+    }
+    public double getMeanIdleHours() {
+        return meanIdleHours;
+    }
+    public double getLoadHours() {
+        return loadHours;
+    }
+    public double getRefuelHours() {
+        return refuelHours;
+    }
+    public double getRefuelLitres() {
+        return refuelLitres;
+    }
+    public double getMaintenanceHours() {
+        return maintenanceHours;
+    }
+    public long getMaxEvents() {
+        return maxEvents;
+    }
+    private static double positive(double value, String what) {
+        if (!(value > 0)) throw new IllegalArgumentException(what + " must be positive: " + value);
+        return value;
+    }
+    private static double notNegative(double value, String what) {
+        if (!(value >= 0)) throw new IllegalArgumentException(what + " cannot be negative: " + value);
+        return value;
+    }
+}
@@ -0,0 +1,142 @@
+package Simulation;
+import java.util.Collections;
+import java.util.List;
+public class SimulationReport {
+    public static class VehicleStats {
+        private final String vehicleId;
+        private final String type;
+        private final int trips;
+        private final double distance;
+        private final double fuelUsed;
+        private final double tonneKm;
+        private final double passengerKm;
+        private final int refuels;
+        private final int maintenanceStops;
+        private final double drivingHours;
+        private final double serviceHours;
+        private final double horizonHours;
+        public VehicleStats(String vehicleId, String type, int trips, double distance, double fuelUsed, double tonneKm,
+                            double passengerKm, int refuels, int maintenanceStops, double drivingHours, double serviceHours, double horizonHours) {
+            this.vehicleId = vehicleId;
+            this.type = type;
+            this.trips = trips;
+            this.distance = distance;
+            this.fuelUsed = fuelUsed;
+            this.tonneKm = tonneKm;
+            this.passengerKm = passengerKm;
+            this.refuels = refuels;
+            this.maintenanceStops = maintenanceStops;
+            this.drivingHours = drivingHours;
+            this.serviceHours = serviceHours;
+            this.horizonHours = horizonHours;
+        }
+        public String getVehicleId() {
+            return vehicleId;
+        }
+        public String getType() {
+            return type;
+        }
+        // Trips finished within the horizon; distance and fuel count only those.
+        public int getTrips() {
+            return trips;
+        }
+        public double getDistance() {
+            return distance;
+        }
+        public double getFuelUsed() {
+            return fuelUsed;
+        }
+        public double getTonneKm() {
+            return tonneKm;
+        }
+        public double getPassengerKm() {
+            return passengerKm;
+        }
+        public int getRefuels() {
+            return refuels;
+        }
+        public int getMaintenanceStops() {
+            return maintenanceStops;
+        }
+        public double getDrivingHours() {
+            return drivingHours;
+        }
+        // Loading, refuelling and maintenance.
+        public double getServiceHours() {
+            return serviceHours;
+        }
+        public double getIdleHours() {
+            return horizonHours - drivingHours - serviceHours;
+        }
+        // Share of the horizon spent on the move.
+        public double getUtilization() {
+            return drivingHours / horizonHours;
+        }
+        public double getFuelPerKm() {
+            return distance > 0 ? fuelUsed / distance : 0.0;
+        }
+        @Override
+        public String toString() {
+            return vehicleId + " (" + type + "): " + trips + " trips, " + String.format("%.1f km, %.1f L, %.1f%% utilized",
+                    distance, fuelUsed, getUtilization() * 100);
+        }
+    }
+    private final long seed;
+    private final double horizonHours;
+    private final long events;
+    private final long elapsedNanos;
+    private final List<VehicleStats> vehicles;
+    public SimulationReport(long seed, double horizonHours, long events, long elapsedNanos, List<VehicleStats> vehicles) {
+        this.seed = seed;
+        this.horizonHours = horizonHours;
+        this.events = events;
+        this.elapsedNanos = elapsedNanos;
+        this.vehicles = Collections.unmodifiableList(vehicles);
+    }
+    public long getSeed() {
+        return seed;
+    }
+    public double getHorizonHours() {
+        return horizonHours;
+    }
+    public long getEvents() {
+        return events;
+    }
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+    public double getEventsPerSecond() {
+        return elapsedNanos > 0 ? events * 1e9 / elapsedNanos : 0.0;
+    }
+    // In fleet order.
+    public List<VehicleStats> getVehicles() {
+        return vehicles;
+    }
+    public int getTotalTrips() {
+        int total = 0;
+        for (VehicleStats s : vehicles) total += s.getTrips();
+        return total;
+    }
+    public double getTotalDistance() {
+        double total = 0;
+        for (VehicleStats s : vehicles) total += s.getDistance();
+        return total;
+    }
+    public double getTotalFuelUsed() {
+        double total = 0;
+        for (VehicleStats s : vehicles) total += s.getFuelUsed();
+        return total;
+    }
+    public double getAverageUtilization() {
+        if (vehicles.isEmpty()) return 0.0;
+        double total = 0;
+        for (VehicleStats s : vehicles) total += s.getUtilization();
+        return total / vehicles.size();
+    }
+    @Override
+    public String toString() {
+        return String.format("Simulated %.0f h for %d vehicles (seed %d): %d events, %d trips, %.1f km, %.1f L, "
+                + "%.1f%% average utilization, %.0f events/s", horizonHours, vehicles.size(), seed, events,
+                getTotalTrips(), getTotalDistance(), getTotalFuelUsed(), getAverageUtilization() * 100, getEventsPerSecond());
+    }
+}
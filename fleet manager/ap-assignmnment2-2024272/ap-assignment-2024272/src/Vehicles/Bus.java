@@ -1,4 +1,6 @@
 package Vehicles;
+import Events.EventType;
+import Events.FleetEvents;
 import Exceptions.InsufficientFuelException;
 import Exceptions.InvalidOperationException;
 import Exceptions.OverloadException;
@@ -24,17 +26,25 @@ public class Bus extends LandVehicle implements FuelConsumable, PassengerCarrier
     }
     @Override
     public void move(double distance) throws InvalidOperationException {
+        try {
+            travel(distance);
+        } catch (InsufficientFuelException e) {
+            // Already published as OUT_OF_FUEL; the vehicle just stays where it is.
+        }
+    }
+    @Override
+    public void travel(double distance) throws InvalidOperationException, InsufficientFuelException {
         if (distance < 0) {
             throw new InvalidOperationException("Distance cannot be negative");
         }
         double fuelNeeded = distance / calculateFuelEfficiency();
         if (fuelLevel < fuelNeeded) {
-            System.out.println("Not enough fuel! Bus cannot move.");
-            return;
+            FleetEvents.publish(EventType.OUT_OF_FUEL, this);
+            throw new InsufficientFuelException("Not enough fuel to cover the distance");
         }
-        fuelLevel -= fuelNeeded;
+        setFuelLevel(fuelLevel - fuelNeeded);
         addMileage(distance);
-        System.out.println("Transporting passengers and cargo for " + distance + " km. Fuel used: " + fuelNeeded);
+        FleetEvents.publish(EventType.TRANSPORTED, this, distance, fuelNeeded);
     }
     @Override
     public double calculateFuelEfficiency() {
@@ -45,8 +55,8 @@ public class Bus extends LandVehicle implements FuelConsumable, PassengerCarrier
         if (amount <= 0) {
             throw new InvalidOperationException("Refuel amount must be positive");
         }
-        fuelLevel += amount;
-        System.out.println("Bus refueled: " + amount + " liters. Current fuel: " + fuelLevel);
+        setFuelLevel(fuelLevel + amount);
+        FleetEvents.publish(EventType.REFUELED, this, amount, fuelLevel);
     }
     @Override
     public double getFuelLevel() {
@@ -58,7 +68,7 @@ public class Bus extends LandVehicle implements FuelConsumable, PassengerCarrier
         if (fuelNeeded > fuelLevel) {
             throw new InsufficientFuelException("Not enough fuel to cover the distance");
         }
-        fuelLevel -= fuelNeeded;
+        setFuelLevel(fuelLevel - fuelNeeded);
         return fuelNeeded;
     }
     @Override
@@ -66,16 +76,16 @@ public class Bus extends LandVehicle implements FuelConsumable, PassengerCarrier
         if (currentPassengers + count > passengerCapacity) {
             throw new OverloadException("Too many passengers! Capacity is " + passengerCapacity);
         }
-        currentPassengers += count;
-        System.out.println(count + " passengers boarded. Now onboard: " + currentPassengers);
+        setCurrentPassengers(currentPassengers + count);
+        FleetEvents.publish(EventType.PASSENGERS_BOARDED, this, count, currentPassengers);
     }
     @Override
     public void disembarkPassengers(int count) throws InvalidOperationException {
         if (count > currentPassengers) {
             throw new InvalidOperationException("Cannot disembark more passengers than onboard");
         }
-        currentPassengers -= count;
-        System.out.println(count + " passengers disembarked. Now onboard: " + currentPassengers);
+        setCurrentPassengers(currentPassengers - count);
+        FleetEvents.publish(EventType.PASSENGERS_DISEMBARKED, this, count, currentPassengers);
     }
     @Override
     public int getPassengerCapacity() {
@@ -90,16 +100,16 @@ public class Bus extends LandVehicle implements FuelConsumable, PassengerCarrier
         if (currentCargo + weight > cargoCapacity) {
             throw new OverloadException("Cargo overload! Capacity is " + cargoCapacity + " kg");
         }
-        currentCargo += weight;
-        System.out.println("Loaded " + weight + " kg. Current cargo: " + currentCargo);
+        setCurrentCargo(currentCargo + weight);
+        FleetEvents.publish(EventType.CARGO_LOADED, this, weight, currentCargo);
     }
     @Override
     public void unloadCargo(double weight) throws InvalidOperationException {
         if (weight > currentCargo) {
             throw new InvalidOperationException("Cannot unload more than current cargo");
         }
-        currentCargo -= weight;
-        System.out.println("Unloaded " + weight + " kg. Current cargo: " + currentCargo);
+        setCurrentCargo(currentCargo - weight);
+        FleetEvents.publish(EventType.CARGO_UNLOADED, this, weight, currentCargo);
     }
     @Override
     public double getCargoCapacity() {
@@ -111,16 +121,44 @@ public class Bus extends LandVehicle implements FuelConsumable, PassengerCarrier
     }
     @Override
     public void scheduleMaintenance() {
-        maintenanceNeeded = true;
-        System.out.println("Bus scheduled for maintenance.");
+        setMaintenanceScheduled(true);
+        FleetEvents.publish(EventType.MAINTENANCE_SCHEDULED, this);
     }
     @Override
     public boolean needsMaintenance() {
-        return getCurrentMileage() > 10000 || maintenanceNeeded;
+        return getCurrentMileage() > MaintenancePolicy.thresholdFor(this) || maintenanceNeeded;
     }
     @Override
     public void performMaintenance() {
-        maintenanceNeeded = false;
-        System.out.println("Bus maintenance performed. Ready to go!");
+        setMaintenanceScheduled(false);
+        FleetEvents.publish(EventType.MAINTENANCE_PERFORMED, this);
+    }
+    @Override
+    public void setFuelLevel(double fuelLevel) {
+        double old = this.fuelLevel;
+        this.fuelLevel = fuelLevel;
+        fireFuelChanged(old, fuelLevel);
+    }
+    @Override
+    public void setCurrentPassengers(int currentPassengers) {
+        int old = this.currentPassengers;
+        this.currentPassengers = currentPassengers;
+        firePassengersChanged(old, currentPassengers);
+    }
+    @Override
+    public void setCurrentCargo(double currentCargo) {
+        double old = this.currentCargo;
+        this.currentCargo = currentCargo;
+        fireCargoChanged(old, currentCargo);
+    }
+    @Override
+    public boolean isMaintenanceScheduled() {
+        return maintenanceNeeded;
+    }
+    @Override
+    public void setMaintenanceScheduled(boolean maintenanceNeeded) {
+        boolean old = this.maintenanceNeeded;
+        this.maintenanceNeeded = maintenanceNeeded;
+        fireMaintenanceChanged(old, maintenanceNeeded);
     }
 }
\ No newline at end of file
@@ -1,4 +1,6 @@
 package Vehicles;
+import Events.EventType;
+import Events.FleetEvents;
 import Exceptions.InsufficientFuelException;
 import Exceptions.InvalidOperationException;
 import Exceptions.OverloadException;
@@ -21,22 +23,30 @@ public class Car extends LandVehicle implements FuelConsumable, PassengerCarrier
     }
     @Override
     public void move(double distance) throws InvalidOperationException {
+        try {
+            travel(distance);
+        } catch (InsufficientFuelException e) {
+            // Already published as OUT_OF_FUEL; the vehicle just stays where it is.
+        }
+    }
+    @Override
+    public void travel(double distance) throws InvalidOperationException, InsufficientFuelException {
         if (distance < 0) {
             throw new InvalidOperationException("Distance cannot be negative");
         }
         double fuelNeeded = distance / calculateFuelEfficiency();
         double projectedMileage = getCurrentMileage() + distance;
-        if (!maintenanceNeeded && (projectedMileage-lastServiceMileage) >= 10000.0) {
-            maintenanceNeeded = true;
-            System.out.println(getId() + " now requires maintenance (mileage: " + this.getCurrentMileage() + ")");
+        if (!maintenanceNeeded && (projectedMileage-lastServiceMileage) >= MaintenancePolicy.thresholdFor(this)) {
+            setMaintenanceScheduled(true);
+            FleetEvents.publish(EventType.MAINTENANCE_DUE, this, getCurrentMileage(), 0.0);
         }
         if (fuelLevel < fuelNeeded) {
-            System.out.println("Not enough fuel! Car cannot move.");
-            return;
+            FleetEvents.publish(EventType.OUT_OF_FUEL, this);
+            throw new InsufficientFuelException("Not enough fuel to cover the distance");
         }
-        fuelLevel -= fuelNeeded;
+        setFuelLevel(fuelLevel - fuelNeeded);
         addMileage(distance);
-        System.out.println("Driving on road for " + distance + " km. Fuel used: " + fuelNeeded);
+        FleetEvents.publish(EventType.DRIVEN, this, distance, fuelNeeded);
     }
     @Override
     public double calculateFuelEfficiency() {
@@ -47,8 +57,8 @@ public class Car extends LandVehicle implements FuelConsumable, PassengerCarrier
         if (amount <= 0) {
             throw new InvalidOperationException("Refuel amount must be positive");
         }
-        fuelLevel += amount;
-        System.out.println("Car refueled: " + amount + " liters. Current fuel: " + fuelLevel);
+        setFuelLevel(fuelLevel + amount);
+        FleetEvents.publish(EventType.REFUELED, this, amount, fuelLevel);
     }
     @Override
     public double getFuelLevel() {
@@ -60,7 +70,7 @@ public class Car extends LandVehicle implements FuelConsumable, PassengerCarrier
         if (fuelNeeded > fuelLevel) {
             throw new InsufficientFuelException("Not enough fuel to cover the distance");
         }
-        fuelLevel -= fuelNeeded;
+        setFuelLevel(fuelLevel - fuelNeeded);
         return fuelNeeded;
     }
     @Override
@@ -68,16 +78,16 @@ public class Car extends LandVehicle implements FuelConsumable, PassengerCarrier
         if (currentPassengers + count > passengerCapacity) {
             throw new OverloadException("Too many passengers! Capacity is " + passengerCapacity);
         }
-        currentPassengers += count;
-        System.out.println(count + " passengers boarded. Now onboard: " + currentPassengers);
+        setCurrentPassengers(currentPassengers + count);
+        FleetEvents.publish(EventType.PASSENGERS_BOARDED, this, count, currentPassengers);
     }
     @Override
     public void disembarkPassengers(int count) throws InvalidOperationException {
         if (count > currentPassengers) {
             throw new InvalidOperationException("Cannot disembark more passengers than onboard");
         }
-        currentPassengers -= count;
-        System.out.println(count + " passengers disembarked. Now onboard: " + currentPassengers);
+        setCurrentPassengers(currentPassengers - count);
+        FleetEvents.publish(EventType.PASSENGERS_DISEMBARKED, this, count, currentPassengers);
     }
     @Override
     public int getPassengerCapacity() {
@@ -89,20 +99,50 @@ public class Car extends LandVehicle implements FuelConsumable, PassengerCarrier
     }
     @Override
     public void scheduleMaintenance() {
-        maintenanceNeeded = true;
-        System.out.println("Car scheduled for maintenance.");
+        setMaintenanceScheduled(true);
+        FleetEvents.publish(EventType.MAINTENANCE_SCHEDULED, this);
     }
     @Override
     public boolean needsMaintenance() {
-        return getCurrentMileage() > 10000 || maintenanceNeeded;
+        return getCurrentMileage() > MaintenancePolicy.thresholdFor(this) || maintenanceNeeded;
     } 
     @Override
     public void performMaintenance() {
         if (this.maintenanceNeeded) {
-            this.maintenanceNeeded = false; //  reset
-            System.out.println("Maintenance performed for Car " + getId());
+            setMaintenanceScheduled(false); //  reset
+            FleetEvents.publish(EventType.SERVICED, this);
         } else {
-            System.out.println("Car " + getId() + " does not need maintenance.");
+            FleetEvents.publish(EventType.SERVICE_NOT_NEEDED, this);
         }
     }
+    @Override
+    public void setFuelLevel(double fuelLevel) {
+        double old = this.fuelLevel;
+        this.fuelLevel = fuelLevel;
+        fireFuelChanged(old, fuelLevel);
+    }
+    @Override
+    public void setCurrentPassengers(int currentPassengers) {
+        int old = this.currentPassengers;
+        this.currentPassengers = currentPassengers;
+        firePassengersChanged(old, currentPassengers);
+    }
+    @Override
+    public boolean isMaintenanceScheduled() {
+        return maintenanceNeeded;
+    }
+    @Override
+    public void setMaintenanceScheduled(boolean maintenanceNeeded) {
+        boolean old = this.maintenanceNeeded;
+        this.maintenanceNeeded = maintenanceNeeded;
+        fireMaintenanceChanged(old, maintenanceNeeded);
+    }
+    public double getLastServiceMileage() {
+        return lastServiceMileage;
+    }
+    public void setLastServiceMileage(double lastServiceMileage) {
+        double old = this.lastServiceMileage;
+        this.lastServiceMileage = lastServiceMileage;
+        fireServiceMileageChanged(old, lastServiceMileage);
+    }
 }
\ No newline at end of file
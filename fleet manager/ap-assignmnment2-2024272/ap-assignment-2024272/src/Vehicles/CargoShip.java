@@ -1,4 +1,6 @@
 package Vehicles;
+import Events.EventType;
+import Events.FleetEvents;
 import Exceptions.InsufficientFuelException;
 import Exceptions.InvalidOperationException;
 import Exceptions.OverloadException;
@@ -19,26 +21,38 @@ public class CargoShip extends WaterVehicle implements CargoCarrier, Maintainabl
     }
     @Override
     public void move(double distance) throws InvalidOperationException {
+        try {
+            travel(distance);
+        } catch (InsufficientFuelException e) {
+            // Already published as OUT_OF_FUEL; the vehicle just stays where it is.
+        }
+    }
+    @Override
+    public void travel(double distance) throws InvalidOperationException, InsufficientFuelException {
         if (distance < 0) {
             throw new InvalidOperationException("Distance cannot be negative");
         }
         if (!hasSail()) { 
             double fuelNeeded = distance / calculateFuelEfficiency();
             if (fuelLevel < fuelNeeded) {
-                System.out.println("Not enough fuel! Cargo ship cannot move.");
-                return;
+                FleetEvents.publish(EventType.OUT_OF_FUEL, this);
+                throw new InsufficientFuelException("Not enough fuel to cover the distance");
             }
 
-            fuelLevel -= fuelNeeded;
+            setFuelLevel(fuelLevel - fuelNeeded);
         }
         addMileage(distance);
-        System.out.println("Sailing with cargo for " + distance + " km.");
+        FleetEvents.publish(EventType.SAILED, this, distance, 0.0);
     }
     @Override
     public double calculateFuelEfficiency() {
         if (hasSail()) {
             return 0.0;
         }
+        return getEngineFuelEfficiency();
+    }
+    // What the ship gets running on its engine, whether or not it has a sail.
+    public double getEngineFuelEfficiency() {
         return 4.0;
     }
     @Override
@@ -46,16 +60,16 @@ public class CargoShip extends WaterVehicle implements CargoCarrier, Maintainabl
         if (currentCargo + weight > cargoCapacity) {
             throw new OverloadException("Cargo overload! Capacity is " + cargoCapacity + " kg");
         }
-        currentCargo += weight;
-        System.out.println("Loaded " + weight + " kg. Current cargo: " + currentCargo);
+        setCurrentCargo(currentCargo + weight);
+        FleetEvents.publish(EventType.CARGO_LOADED, this, weight, currentCargo);
     }
     @Override
     public void unloadCargo(double weight) throws InvalidOperationException {
         if (weight > currentCargo) {
             throw new InvalidOperationException("Cannot unload more than current cargo");
         }
-        currentCargo -= weight;
-        System.out.println("Unloaded " + weight + " kg. Current cargo: " + currentCargo);
+        setCurrentCargo(currentCargo - weight);
+        FleetEvents.publish(EventType.CARGO_UNLOADED, this, weight, currentCargo);
     }
     @Override
     public double getCargoCapacity() {
@@ -67,29 +81,29 @@ public class CargoShip extends WaterVehicle implements CargoCarrier, Maintainabl
     }
     @Override
     public void scheduleMaintenance() {
-        maintenanceNeeded = true;
-        System.out.println("Cargo ship scheduled for maintenance.");
+        setMaintenanceScheduled(true);
+        FleetEvents.publish(EventType.MAINTENANCE_SCHEDULED, this);
     }
     @Override
     public boolean needsMaintenance() {
-        return getCurrentMileage() > 10000 || maintenanceNeeded;
+        return getCurrentMileage() > MaintenancePolicy.thresholdFor(this) || maintenanceNeeded;
     }
     @Override
     public void performMaintenance() {
-        maintenanceNeeded = false;
-        System.out.println("Cargo ship maintenance performed. Ready to go!");
+        setMaintenanceScheduled(false);
+        FleetEvents.publish(EventType.MAINTENANCE_PERFORMED, this);
     }
     @Override
     public void refuel(double amount) throws InvalidOperationException {
         if (hasSail()) {
-            System.out.println("This cargo ship uses sails and does not need fuel.");
+            FleetEvents.publish(EventType.SAIL_POWERED, this);
             return;
         }
         if (amount <= 0) {
             throw new InvalidOperationException("Refuel amount must be positive");
         }
-        fuelLevel += amount;
-        System.out.println("Cargo ship refueled: " + amount + " liters. Current fuel: " + fuelLevel);
+        setFuelLevel(fuelLevel + amount);
+        FleetEvents.publish(EventType.REFUELED, this, amount, fuelLevel);
     }
     @Override
     public double getFuelLevel() {
@@ -104,7 +118,29 @@ public class CargoShip extends WaterVehicle implements CargoCarrier, Maintainabl
         if (fuelNeeded > fuelLevel) {
             throw new InsufficientFuelException("Not enough fuel to cover the distance");
         }
-        fuelLevel -= fuelNeeded;
+        setFuelLevel(fuelLevel - fuelNeeded);
         return fuelNeeded;
     }
+    @Override
+    public void setFuelLevel(double fuelLevel) {
+        double old = this.fuelLevel;
+        this.fuelLevel = fuelLevel;
+        fireFuelChanged(old, fuelLevel);
+    }
+    @Override
+    public void setCurrentCargo(double currentCargo) {
+        double old = this.currentCargo;
+        this.currentCargo = currentCargo;
+        fireCargoChanged(old, currentCargo);
+    }
+    @Override
+    public boolean isMaintenanceScheduled() {
+        return maintenanceNeeded;
+    }
+    @Override
+    public void setMaintenanceScheduled(boolean maintenanceNeeded) {
+        boolean old = this.maintenanceNeeded;
+        this.maintenanceNeeded = maintenanceNeeded;
+        fireMaintenanceChanged(old, maintenanceNeeded);
+    }
 }
\ No newline at end of file
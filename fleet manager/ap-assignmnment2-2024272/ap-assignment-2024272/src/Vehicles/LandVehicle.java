@@ -9,7 +9,7 @@ public abstract class LandVehicle extends Vehicle {
     @Override
     public double estimateJourneyTime(double distance) {
         double baseTime = distance / getMaxSpeed();
-        return baseTime * (110/100); 
+        return baseTime * 1.10;
     }
     public int getNumWheels() {
         return numWheels;
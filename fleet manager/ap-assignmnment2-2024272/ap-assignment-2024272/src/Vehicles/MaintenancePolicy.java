@@ -0,0 +1,49 @@
+package Vehicles;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+// Per-class maintenance thresholds; a class without its own inherits the nearest superclass's.
+public class MaintenancePolicy {
+    public static final double DEFAULT_THRESHOLD = 10000.0;
+    private final Map<Class<?>, Double> thresholds = new ConcurrentHashMap<>();
+    private final AtomicInteger version = new AtomicInteger();
+    public static double thresholdFor(Vehicle v) {
+        MaintenancePolicy policy = v.maintenancePolicy;
+        return policy == null ? DEFAULT_THRESHOLD : policy.getThreshold(v.getClass());
+    }
+    public static double remainingKm(Vehicle v) {
+        return thresholdFor(v) - v.getCurrentMileage();
+    }
+    public double getThreshold(Class<? extends Vehicle> type) {
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            Double threshold = thresholds.get(c);
+            if (threshold != null) return threshold;
+        }
+        return DEFAULT_THRESHOLD;
+    }
+    // Fleets index vehicles by threshold, so prefer FleetManager.setMaintenanceThreshold, which also reindexes.
+    public void setThreshold(Class<? extends Vehicle> type, double threshold) {
+        if (!(threshold > 0)) {
+            throw new IllegalArgumentException("Maintenance threshold must be positive: " + threshold);
+        }
+        thresholds.put(type, threshold);
+        version.incrementAndGet();
+    }
+    public void resetThreshold(Class<? extends Vehicle> type) {
+        thresholds.remove(type);
+        version.incrementAndGet();
+    }
+    // Changes whenever any threshold does, which can change needsMaintenance() without touching a vehicle.
+    public int version() {
+        return version.get();
+    }
+    public void attach(Vehicle v) {
+        if (v.maintenancePolicy != null && v.maintenancePolicy != this) {
+            throw new IllegalStateException("Vehicle " + v.getId() + " already follows another maintenance policy");
+        }
+        v.maintenancePolicy = this;
+    }
+    public void detach(Vehicle v) {
+        if (v.maintenancePolicy == this) v.maintenancePolicy = null;
+    }
+}
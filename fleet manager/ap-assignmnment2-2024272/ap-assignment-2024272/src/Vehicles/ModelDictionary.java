@@ -0,0 +1,70 @@
+package Vehicles;
+import java.util.*;
+// Reference-counted model names with one shared String per model; codes of dropped models are reused.
+public class ModelDictionary {
+    private static final class Entry {
+        final String model;
+        final int code;
+        int count;
+        Entry(String model, int code) {
+            this.model = model;
+            this.code = code;
+        }
+    }
+    private final TreeMap<String, Entry> byModel = new TreeMap<>();
+    private Entry[] byCode = new Entry[16];
+    private int[] freeCodes = new int[16];
+    private int freeCount;
+    private int nextCode;
+    private final Set<String> view = Collections.unmodifiableSet(byModel.keySet());
+    // Returns the model's code, or -1 for a vehicle without a model.
+    public int acquire(Vehicle v) {
+        String model = v.getModel();
+        if (model == null) return -1;
+        Entry e = byModel.get(model);
+        if (e == null) {
+            e = new Entry(model, freeCount > 0 ? freeCodes[--freeCount] : nextCode++);
+            if (e.code == byCode.length) byCode = Arrays.copyOf(byCode, byCode.length * 2);
+            byCode[e.code] = e;
+            byModel.put(model, e);
+        }
+        e.count++;
+        if (model != e.model) v.shareModel(e.model);
+        return e.code;
+    }
+    public void release(Vehicle v) {
+        String model = v.getModel();
+        if (model == null) return;
+        Entry e = byModel.get(model);
+        if (e == null || --e.count > 0) return;
+        byModel.remove(model);
+        byCode[e.code] = null;
+        if (freeCount == freeCodes.length) freeCodes = Arrays.copyOf(freeCodes, freeCount * 2);
+        freeCodes[freeCount++] = e.code;
+    }
+    public void clear() {
+        byModel.clear();
+        Arrays.fill(byCode, null);
+        freeCount = 0;
+        nextCode = 0;
+    }
+    public int codeOf(String model) {
+        Entry e = model == null ? null : byModel.get(model);
+        return e == null ? -1 : e.code;
+    }
+    public String modelOf(int code) {
+        Entry e = code >= 0 && code < byCode.length ? byCode[code] : null;
+        return e == null ? null : e.model;
+    }
+    public int count(String model) {
+        Entry e = model == null ? null : byModel.get(model);
+        return e == null ? 0 : e.count;
+    }
+    public int size() {
+        return byModel.size();
+    }
+    // Live, read-only and in natural order.
+    public Set<String> models() {
+        return view;
+    }
+}
@@ -1,4 +1,6 @@
 package Vehicles;
+import Events.EventType;
+import Events.FleetEvents;
 import Exceptions.InsufficientFuelException;
 import Exceptions.InvalidOperationException;
 import Exceptions.OverloadException;
@@ -19,23 +21,38 @@ public class Truck extends LandVehicle implements FuelConsumable, CargoCarrier,
     }
     @Override
     public void move(double distance) throws InvalidOperationException {
+        try {
+            travel(distance);
+        } catch (InsufficientFuelException e) {
+            // Already published as OUT_OF_FUEL; the vehicle just stays where it is.
+        }
+    }
+    @Override
+    public void travel(double distance) throws InvalidOperationException, InsufficientFuelException {
         if (distance < 0) {
             throw new InvalidOperationException("Distance cannot be negative");
         }
         double efficiency = calculateFuelEfficiency();
         double fuelNeeded = distance / efficiency;
         if (fuelLevel < fuelNeeded) {
-            System.out.println("Not enough fuel! Truck cannot move.");
-            return;
+            FleetEvents.publish(EventType.OUT_OF_FUEL, this);
+            throw new InsufficientFuelException("Not enough fuel to cover the distance");
         }
-        fuelLevel -= fuelNeeded;
+        setFuelLevel(fuelLevel - fuelNeeded);
         addMileage(distance);
-        System.out.println("Hauling cargo for " + distance + " km. Fuel used: " + fuelNeeded);
+        FleetEvents.publish(EventType.HAULED, this, distance, fuelNeeded);
     }
     @Override
     public double calculateFuelEfficiency() {
+        return efficiencyAt(currentCargo);
+    }
+    @Override
+    public double projectedFuelEfficiency(double additionalCargo) {
+        return efficiencyAt(currentCargo + additionalCargo);
+    }
+    private double efficiencyAt(double cargo) {
         double efficiency = 8.0; // base 8 km/l
-        if (currentCargo > (cargoCapacity / 2)) {
+        if (cargo > (cargoCapacity / 2)) {
             efficiency *= 0.9; // reduce by 10% if > 50% loaded
         }
         return efficiency;
@@ -45,8 +62,8 @@ public class Truck extends LandVehicle implements FuelConsumable, CargoCarrier,
         if (amount <= 0) {
             throw new InvalidOperationException("Refuel amount must be positive");
         }
-        fuelLevel += amount;
-        System.out.println("Truck refueled: " + amount + " liters. Current fuel: " + fuelLevel);
+        setFuelLevel(fuelLevel + amount);
+        FleetEvents.publish(EventType.REFUELED, this, amount, fuelLevel);
     }
     @Override
     public double getFuelLevel() {
@@ -58,7 +75,7 @@ public class Truck extends LandVehicle implements FuelConsumable, CargoCarrier,
         if (fuelNeeded > fuelLevel) {
             throw new InsufficientFuelException("Not enough fuel to cover the distance");
         }
-        fuelLevel -= fuelNeeded;
+        setFuelLevel(fuelLevel - fuelNeeded);
         return fuelNeeded;
     }
     @Override
@@ -66,16 +83,16 @@ public class Truck extends LandVehicle implements FuelConsumable, CargoCarrier,
         if (currentCargo + weight > cargoCapacity) {
             throw new OverloadException("Cargo overload! Capacity is " + cargoCapacity + " kg");
         }
-        currentCargo += weight;
-        System.out.println("Loaded " + weight + " kg. Current cargo: " + currentCargo);
+        setCurrentCargo(currentCargo + weight);
+        FleetEvents.publish(EventType.CARGO_LOADED, this, weight, currentCargo);
     }
     @Override
     public void unloadCargo(double weight) throws InvalidOperationException {
         if (weight > currentCargo) {
             throw new InvalidOperationException("Cannot unload more than current cargo");
         }
-        currentCargo -= weight;
-        System.out.println("Unloaded " + weight + " kg. Current cargo: " + currentCargo);
+        setCurrentCargo(currentCargo - weight);
+        FleetEvents.publish(EventType.CARGO_UNLOADED, this, weight, currentCargo);
     }
     @Override
     public double getCargoCapacity() {
@@ -87,16 +104,38 @@ public class Truck extends LandVehicle implements FuelConsumable, CargoCarrier,
     }
     @Override
     public void scheduleMaintenance() {
-        maintenanceNeeded = true;
-        System.out.println("Truck scheduled for maintenance.");
+        setMaintenanceScheduled(true);
+        FleetEvents.publish(EventType.MAINTENANCE_SCHEDULED, this);
     }
     @Override
     public boolean needsMaintenance() {
-        return getCurrentMileage() > 10000 || maintenanceNeeded;
+        return getCurrentMileage() > MaintenancePolicy.thresholdFor(this) || maintenanceNeeded;
     }
     @Override
     public void performMaintenance() {
-        maintenanceNeeded = false;
-        System.out.println("Truck maintenance performed. Ready to go!");
+        setMaintenanceScheduled(false);
+        FleetEvents.publish(EventType.MAINTENANCE_PERFORMED, this);
+    }
+    @Override
+    public void setFuelLevel(double fuelLevel) {
+        double old = this.fuelLevel;
+        this.fuelLevel = fuelLevel;
+        fireFuelChanged(old, fuelLevel);
+    }
+    @Override
+    public void setCurrentCargo(double currentCargo) {
+        double old = this.currentCargo;
+        this.currentCargo = currentCargo;
+        fireCargoChanged(old, currentCargo);
+    }
+    @Override
+    public boolean isMaintenanceScheduled() {
+        return maintenanceNeeded;
+    }
+    @Override
+    public void setMaintenanceScheduled(boolean maintenanceNeeded) {
+        boolean old = this.maintenanceNeeded;
+        this.maintenanceNeeded = maintenanceNeeded;
+        fireMaintenanceChanged(old, maintenanceNeeded);
     }
 }
\ No newline at end of file
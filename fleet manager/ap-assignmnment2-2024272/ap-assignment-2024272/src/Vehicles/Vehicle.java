@@ -1,10 +1,15 @@
 package Vehicles;
+import Exceptions.InsufficientFuelException;
 import Exceptions.InvalidOperationException;
+import Interfaces.VehicleObserver;
 public abstract class Vehicle implements Comparable<Vehicle> {
     private String id;
     private String model;
     private double maxSpeed;
     private double currentMileage;
+    private VehicleObserver observer;
+    private int version;
+    MaintenancePolicy maintenancePolicy;
     public Vehicle(String id, String model, double maxSpeed) throws InvalidOperationException {
         if (id == null || id.isEmpty()) {
             throw new InvalidOperationException("Vehicle ID cannot be empty");
@@ -15,12 +20,20 @@ public abstract class Vehicle implements Comparable<Vehicle> {
         this.currentMileage = 0.0;
     }
     public abstract void move(double distance) throws InvalidOperationException;
+    // Like move, but throws when there is not enough fuel for the distance.
+    public void travel(double distance) throws InvalidOperationException, InsufficientFuelException {
+        move(distance);
+    }
     public abstract double calculateFuelEfficiency();
     public abstract double estimateJourneyTime(double distance);
+    // Efficiency once the given extra cargo is aboard, without loading it; only load-sensitive types override this.
+    public double projectedFuelEfficiency(double additionalCargo) {
+        return calculateFuelEfficiency();
+    }
     public void displayInfo() {
         System.out.println("ID: " + id + ", Model: " + model +
-                           ", Max Speed: " + maxSpeed +
-                           ", Mileage: " + currentMileage);
+                           ", Max Speed: " + getMaxSpeed() +
+                           ", Mileage: " + getCurrentMileage());
     }
     public double getCurrentMileage() {
         return currentMileage;
@@ -34,8 +47,50 @@ public abstract class Vehicle implements Comparable<Vehicle> {
     public String getModel() {
         return model;
     }
+    // Swaps in the equal instance shared through a ModelDictionary.
+    void shareModel(String model) {
+        this.model = model;
+    }
     public void addMileage(double distance) {
-        this.currentMileage += distance;
+        setCurrentMileage(getCurrentMileage() + distance);
+    }
+    public void setCurrentMileage(double mileage) {
+        double old = getCurrentMileage();
+        this.currentMileage = mileage;
+        version++;
+        if (observer != null) observer.onMileageChanged(this, old, mileage);
+    }
+    // Bumped by every change to the vehicle's state, so cached copies of it can tell when they are stale.
+    public int getVersion() {
+        return version;
+    }
+    public VehicleObserver getObserver() {
+        return observer;
+    }
+    public void setObserver(VehicleObserver observer) {
+        this.observer = observer;
+    }
+    // Subclasses own their state, so each change is counted when they report it.
+    protected void fireFuelChanged(double oldLevel, double newLevel) {
+        version++;
+        if (observer != null) observer.onFuelChanged(this, oldLevel, newLevel);
+    }
+    protected void fireCargoChanged(double oldCargo, double newCargo) {
+        version++;
+        if (observer != null) observer.onCargoChanged(this, oldCargo, newCargo);
+    }
+    protected void firePassengersChanged(int oldCount, int newCount) {
+        version++;
+        if (observer != null) observer.onPassengersChanged(this, oldCount, newCount);
+    }
+    protected void fireMaintenanceChanged(boolean oldScheduled, boolean newScheduled) {
+        version++;
+        if (observer != null) observer.onMaintenanceChanged(this, oldScheduled, newScheduled);
+    }
+    // The mileage of the last service, for types that track one.
+    protected void fireServiceMileageChanged(double oldMileage, double newMileage) {
+        version++;
+        if (observer != null) observer.onServiceMileageChanged(this, oldMileage, newMileage);
     }
     @Override
     public int compareTo(Vehicle other) {
@@ -45,8 +100,8 @@ public abstract class Vehicle implements Comparable<Vehicle> {
     public String toString() {
         return getClass().getSimpleName() + " [ID=" + id +
                ", Model=" + model +
-               ", MaxSpeed=" + maxSpeed +
-               ", Mileage=" + currentMileage +
+               ", MaxSpeed=" + getMaxSpeed() +
+               ", Mileage=" + getCurrentMileage() +
                ", FuelEfficiency=" + calculateFuelEfficiency() + "]";
     }
 }
\ No newline at end of file
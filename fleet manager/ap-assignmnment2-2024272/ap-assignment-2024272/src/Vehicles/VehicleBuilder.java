@@ -0,0 +1,121 @@
+package Vehicles;
+// A vehicle's specs and state as plain fields, reused by loaders for every row; unset specs take the type's defaults.
+public final class VehicleBuilder {
+    public static final int DEFAULT_WHEELS = -1;
+    private String id;
+    private String model;
+    private double maxSpeed;
+    private int wheels;
+    private double altitude;
+    private boolean sail;
+    private double fuel;
+    private double cargo;
+    private int passengers;
+    private boolean maintenance;
+    private double mileage;
+    private double lastServiceMileage;
+    public VehicleBuilder() {
+        reset();
+    }
+    public VehicleBuilder reset() {
+        id = null;
+        model = null;
+        maxSpeed = 0.0;
+        wheels = DEFAULT_WHEELS;
+        altitude = Double.NaN;
+        sail = false;
+        fuel = 0.0;
+        cargo = 0.0;
+        passengers = 0;
+        maintenance = false;
+        mileage = 0.0;
+        lastServiceMileage = Double.NaN;
+        return this;
+    }
+    public VehicleBuilder id(String id) {
+        this.id = id;
+        return this;
+    }
+    public VehicleBuilder model(String model) {
+        this.model = model;
+        return this;
+    }
+    public VehicleBuilder maxSpeed(double maxSpeed) {
+        this.maxSpeed = maxSpeed;
+        return this;
+    }
+    public VehicleBuilder wheels(int wheels) {
+        this.wheels = wheels;
+        return this;
+    }
+    public VehicleBuilder altitude(double altitude) {
+        this.altitude = altitude;
+        return this;
+    }
+    public VehicleBuilder sail(boolean sail) {
+        this.sail = sail;
+        return this;
+    }
+    public VehicleBuilder fuel(double fuel) {
+        this.fuel = fuel;
+        return this;
+    }
+    public VehicleBuilder cargo(double cargo) {
+        this.cargo = cargo;
+        return this;
+    }
+    public VehicleBuilder passengers(int passengers) {
+        this.passengers = passengers;
+        return this;
+    }
+    public VehicleBuilder maintenance(boolean maintenance) {
+        this.maintenance = maintenance;
+        return this;
+    }
+    public VehicleBuilder mileage(double mileage) {
+        this.mileage = mileage;
+        return this;
+    }
+    public VehicleBuilder lastServiceMileage(double lastServiceMileage) {
+        this.lastServiceMileage = lastServiceMileage;
+        return this;
+    }
+    public String getId() {
+        return id;
+    }
+    public String getModel() {
+        return model;
+    }
+    public double getMaxSpeed() {
+        return maxSpeed;
+    }
+    // The given count, or the default for types that leave the wheels unset.
+    public int getWheels(int defaultWheels) {
+        return wheels == DEFAULT_WHEELS ? defaultWheels : wheels;
+    }
+    public double getAltitude(double defaultAltitude) {
+        return Double.isNaN(altitude) ? defaultAltitude : altitude;
+    }
+    public boolean hasSail() {
+        return sail;
+    }
+    public double getFuel() {
+        return fuel;
+    }
+    public double getCargo() {
+        return cargo;
+    }
+    public int getPassengers() {
+        return passengers;
+    }
+    public boolean isMaintenance() {
+        return maintenance;
+    }
+    public double getMileage() {
+        return mileage;
+    }
+    // NaN when unset, in which case the vehicle keeps the value its constructor gave it.
+    public double getLastServiceMileage() {
+        return lastServiceMileage;
+    }
+}
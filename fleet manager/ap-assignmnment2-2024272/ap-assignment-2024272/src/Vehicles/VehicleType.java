@@ -0,0 +1,70 @@
+package Vehicles;
+import Exceptions.InvalidOperationException;
+import Interfaces.CargoCarrier;
+import Interfaces.FuelConsumable;
+import Interfaces.Maintainable;
+import Interfaces.PassengerCarrier;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+// A kind of vehicle the fleet can create by name; providers are listed in META-INF/services/Vehicles.VehicleType.
+public abstract class VehicleType {
+    private int code;
+    public abstract String getName();
+    public abstract Class<? extends Vehicle> getVehicleClass();
+    // Constructs the vehicle from the builder and restores the rest of its state in one go.
+    public abstract Vehicle build(VehicleBuilder b) throws InvalidOperationException;
+    // The small int code VehicleTypes assigned on registration; 0 before that.
+    public final int getCode() {
+        return code;
+    }
+    final void assignCode(int code) {
+        this.code = code;
+    }
+    // Marks this type in snapshots, journals and store records, from 1 to MAX_CODE; pin it to keep files readable.
+    public int getTag() {
+        return code;
+    }
+    // The type-specific part of a binary record, after the fields every vehicle has.
+    public void writeState(DataOutput out, Vehicle v) throws IOException {
+        if (is(LandVehicle.class)) out.writeInt(((LandVehicle) v).getNumWheels());
+        else if (is(AirVehicle.class)) out.writeDouble(((AirVehicle) v).getMaxAltitude());
+        else if (is(WaterVehicle.class)) out.writeBoolean(((WaterVehicle) v).hasSail());
+        if (is(FuelConsumable.class)) out.writeDouble(((FuelConsumable) v).getFuelLevel());
+        if (is(PassengerCarrier.class)) out.writeInt(((PassengerCarrier) v).getCurrentPassengers());
+        if (is(CargoCarrier.class)) out.writeDouble(((CargoCarrier) v).getCurrentCargo());
+        if (is(Maintainable.class)) out.writeBoolean(((Maintainable) v).isMaintenanceScheduled());
+    }
+    // Reads back what writeState wrote.
+    public void readState(ByteBuffer in, VehicleBuilder b) {
+        if (is(LandVehicle.class)) b.wheels(in.getInt());
+        else if (is(AirVehicle.class)) b.altitude(in.getDouble());
+        else if (is(WaterVehicle.class)) b.sail(in.get() != 0);
+        if (is(FuelConsumable.class)) b.fuel(in.getDouble());
+        if (is(PassengerCarrier.class)) b.passengers(in.getInt());
+        if (is(CargoCarrier.class)) b.cargo(in.getDouble());
+        if (is(Maintainable.class)) b.maintenance(in.get() != 0);
+    }
+    private boolean is(Class<?> kind) {
+        return kind.isAssignableFrom(getVehicleClass());
+    }
+    // Restores interface state clamped to the vehicle's capacities, without publishing events.
+    protected static <V extends Vehicle> V restore(V v, VehicleBuilder b) {
+        if (v instanceof FuelConsumable) ((FuelConsumable) v).setFuelLevel(Math.max(b.getFuel(), 0.0));
+        if (v instanceof CargoCarrier) {
+            CargoCarrier carrier = (CargoCarrier) v;
+            carrier.setCurrentCargo(Math.max(0.0, Math.min(b.getCargo(), carrier.getCargoCapacity())));
+        }
+        if (v instanceof PassengerCarrier) {
+            PassengerCarrier carrier = (PassengerCarrier) v;
+            carrier.setCurrentPassengers(Math.max(0, Math.min(b.getPassengers(), carrier.getPassengerCapacity())));
+        }
+        if (v instanceof Maintainable) ((Maintainable) v).setMaintenanceScheduled(b.isMaintenance());
+        v.setCurrentMileage(b.getMileage());
+        return v;
+    }
+    @Override
+    public String toString() {
+        return getName() + " (code " + code + ")";
+    }
+}
@@ -0,0 +1,193 @@
+package Vehicles;
+import Exceptions.InvalidOperationException;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+// Registry of vehicle types by code; the built-in types take codes 1 to 5, which are also their binary tags.
+public final class VehicleTypes {
+    public static final int MAX_CODE = 127;
+    public static final VehicleType CAR = new VehicleType() {
+        @Override
+        public String getName() {
+            return "Car";
+        }
+        @Override
+        public Class<? extends Vehicle> getVehicleClass() {
+            return Car.class;
+        }
+        @Override
+        public Vehicle build(VehicleBuilder b) throws InvalidOperationException {
+            Car car = restore(new Car(b.getId(), b.getModel(), b.getMaxSpeed(), b.getWheels(4)), b);
+            if (!Double.isNaN(b.getLastServiceMileage())) car.setLastServiceMileage(b.getLastServiceMileage());
+            return car;
+        }
+        @Override
+        public void writeState(DataOutput out, Vehicle v) throws IOException {
+            super.writeState(out, v);
+            out.writeDouble(((Car) v).getLastServiceMileage());
+        }
+        @Override
+        public void readState(ByteBuffer in, VehicleBuilder b) {
+            super.readState(in, b);
+            b.lastServiceMileage(in.getDouble());
+        }
+    };
+    public static final VehicleType TRUCK = new VehicleType() {
+        @Override
+        public String getName() {
+            return "Truck";
+        }
+        @Override
+        public Class<? extends Vehicle> getVehicleClass() {
+            return Truck.class;
+        }
+        @Override
+        public Vehicle build(VehicleBuilder b) throws InvalidOperationException {
+            return restore(new Truck(b.getId(), b.getModel(), b.getMaxSpeed(), b.getWheels(6)), b);
+        }
+    };
+    public static final VehicleType BUS = new VehicleType() {
+        @Override
+        public String getName() {
+            return "Bus";
+        }
+        @Override
+        public Class<? extends Vehicle> getVehicleClass() {
+            return Bus.class;
+        }
+        @Override
+        public Vehicle build(VehicleBuilder b) throws InvalidOperationException {
+            return restore(new Bus(b.getId(), b.getModel(), b.getMaxSpeed(), b.getWheels(6)), b);
+        }
+    };
+    public static final VehicleType AIRPLANE = new VehicleType() {
+        @Override
+        public String getName() {
+            return "Airplane";
+        }
+        @Override
+        public Class<? extends Vehicle> getVehicleClass() {
+            return Airplane.class;
+        }
+        @Override
+        public Vehicle build(VehicleBuilder b) throws InvalidOperationException {
+            return restore(new Airplane(b.getId(), b.getModel(), b.getMaxSpeed(), b.getAltitude(10000)), b);
+        }
+    };
+    public static final VehicleType CARGO_SHIP = new VehicleType() {
+        @Override
+        public String getName() {
+            return "CargoShip";
+        }
+        @Override
+        public Class<? extends Vehicle> getVehicleClass() {
+            return CargoShip.class;
+        }
+        @Override
+        public Vehicle build(VehicleBuilder b) throws InvalidOperationException {
+            return restore(new CargoShip(b.getId(), b.getModel(), b.getMaxSpeed(), b.hasSail()), b);
+        }
+    };
+    private static final Map<Class<?>, VehicleType> byClass = new ConcurrentHashMap<>();
+    private static volatile VehicleType[] byCode = new VehicleType[1];
+    private static volatile VehicleType[] byTag = new VehicleType[MAX_CODE + 1];
+    // Case-folded name hashes, so any CharSequence can be looked up without building a String.
+    private static volatile VehicleType[] byName = new VehicleType[16];
+    private static volatile List<VehicleType> all = Collections.emptyList();
+    static {
+        register(CAR);
+        register(TRUCK);
+        register(BUS);
+        register(AIRPLANE);
+        register(CARGO_SHIP);
+        // A provider that fails to load or clashes with a registered name fails class initialization.
+        for (VehicleType type : ServiceLoader.load(VehicleType.class)) register(type);
+    }
+    private VehicleTypes() {
+    }
+    // Adds the type under the next free code and returns it; names are unique, ignoring case.
+    public static synchronized int register(VehicleType type) {
+        String name = type.getName();
+        if (name == null || name.isEmpty() || !name.chars().allMatch(c -> c > ' ' && c < 0x7F && c != ',' && c != '"')) {
+            throw new IllegalArgumentException("Vehicle type name must be plain ASCII: " + name);
+        }
+        if (type.getCode() != 0 || byName(name) != null) {
+            throw new IllegalArgumentException("Vehicle type already registered: " + name);
+        }
+        int code = byCode.length;
+        if (code > MAX_CODE) {
+            throw new IllegalStateException("Too many vehicle types registered (max " + MAX_CODE + ")");
+        }
+        type.assignCode(code);
+        int tag = type.getTag();
+        if (tag < 1 || tag > MAX_CODE || byTag[tag] != null) {
+            type.assignCode(0);
+            throw new IllegalArgumentException("Vehicle type " + name + " needs a free tag from 1 to " + MAX_CODE + ": " + tag);
+        }
+        VehicleType[] tags = byTag.clone();
+        tags[tag] = type;
+        VehicleType[] codes = Arrays.copyOf(byCode, code + 1);
+        codes[code] = type;
+        byClass.put(type.getVehicleClass(), type);
+        byName = nameTable(codes);
+        byTag = tags;
+        byCode = codes;
+        all = Collections.unmodifiableList(Arrays.asList(Arrays.copyOfRange(codes, 1, codes.length)));
+        return code;
+    }
+    // Null for codes no type holds.
+    public static VehicleType byCode(int code) {
+        VehicleType[] codes = byCode;
+        return code > 0 && code < codes.length ? codes[code] : null;
+    }
+    // The type that writes the tag into binary records; null for tags no type holds.
+    public static VehicleType byTag(int tag) {
+        return tag > 0 && tag <= MAX_CODE ? byTag[tag] : null;
+    }
+    // Ignores case; null for names no type has.
+    public static VehicleType byName(CharSequence name) {
+        if (name == null) return null;
+        VehicleType[] table = byName;
+        int mask = table.length - 1;
+        for (int i = foldedHash(name) & mask; table[i] != null; i = (i + 1) & mask) {
+            if (sameName(table[i].getName(), name)) return table[i];
+        }
+        return null;
+    }
+    // The type registered for the vehicle's class, or for its nearest registered superclass.
+    public static VehicleType of(Vehicle v) {
+        for (Class<?> c = v.getClass(); c != null && c != Object.class; c = c.getSuperclass()) {
+            VehicleType type = byClass.get(c);
+            if (type != null) return type;
+        }
+        return null;
+    }
+    private static VehicleType[] nameTable(VehicleType[] codes) {
+        VehicleType[] table = new VehicleType[Integer.highestOneBit(codes.length * 4 - 1) << 1];
+        int mask = table.length - 1;
+        for (int c = 1; c < codes.length; c++) {
+            int i = foldedHash(codes[c].getName()) & mask;
+            while (table[i] != null) i = (i + 1) & mask;
+            table[i] = codes[c];
+        }
+        return table;
+    }
+    private static int foldedHash(CharSequence s) {
+        int h = 0;
+        for (int i = 0; i < s.length(); i++) h = 31 * h + Character.toLowerCase(s.charAt(i));
+        return h ^ (h >>> 16);
+    }
+    private static boolean sameName(String name, CharSequence s) {
+        if (name.length() != s.length()) return false;
+        for (int i = 0; i < name.length(); i++) {
+            if (Character.toLowerCase(name.charAt(i)) != Character.toLowerCase(s.charAt(i))) return false;
+        }
+        return true;
+    }
+    // Every registered type in code order.
+    public static List<VehicleType> all() {
+        return all;
+    }
+}